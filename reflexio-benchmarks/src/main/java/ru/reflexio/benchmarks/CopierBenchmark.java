@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.Copier;
+import ru.reflexio.IInstanceFieldReflection;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopierBenchmark {
+
+	private final Bean source = new Bean(42);
+	private final Bean target = new Bean();
+
+	private List<IInstanceFieldReflection> fields;
+	private Copier<Bean> copier;
+
+	@Setup
+	public void setup() {
+		TypeReflection<Bean> type = new TypeReflection<>(Bean.class);
+		source.setId(7L);
+		source.setWeight(1.5);
+		source.setName("bean");
+		fields = type.getInstanceFields();
+		copier = new Copier<>(type);
+	}
+
+	@Benchmark
+	public Bean baselineCopy() {
+		target.setX(source.getX());
+		target.setId(source.getId());
+		target.setWeight(source.getWeight());
+		target.setName(source.getName());
+		return target;
+	}
+
+	@Benchmark
+	public Bean fieldLoopCopy() {
+		for (IInstanceFieldReflection field : fields) {
+			field.setValue(target, field.getValue(source));
+		}
+		return target;
+	}
+
+	@Benchmark
+	public Bean copierCopy() {
+		copier.copy(source, target);
+		return target;
+	}
+
+	@Benchmark
+	public Bean copierNewCopy() {
+		return copier.copy(source);
+	}
+
+}
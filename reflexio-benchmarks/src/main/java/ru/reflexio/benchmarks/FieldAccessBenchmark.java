@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IInstanceFieldReflection;
+import ru.reflexio.IStaticFieldReflection;
+import ru.reflexio.InvocationBackend;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessBenchmark {
+
+	@Param({ "Reflection", "MethodHandle" })
+	private InvocationBackend backend;
+
+	private final Bean bean = new Bean(42);
+	private final Object lock = new Object();
+	private int value = 7;
+	private Integer boxedValue = 7;
+	private String name = "bean";
+
+	private IInstanceFieldReflection x;
+	private IInstanceFieldReflection nameField;
+	private IStaticFieldReflection counter;
+	private ToIntFunction<Bean> xGetter;
+	private ObjIntConsumer<Bean> xSetter;
+	private Field jdkField;
+
+	@Setup
+	public void setup() throws NoSuchFieldException {
+		TypeReflection<Bean> type = new TypeReflection<>(Bean.class, backend);
+		x = type.findInstanceField("x");
+		nameField = type.findInstanceField("name");
+		counter = type.findStaticField("counter");
+		xGetter = x.compileIntGetter();
+		xSetter = x.compileIntSetter();
+		jdkField = Bean.class.getDeclaredField("x");
+		jdkField.setAccessible(true);
+	}
+
+	@Benchmark
+	public int baselineGet() {
+		return bean.getX();
+	}
+
+	@Benchmark
+	public void baselineSet() {
+		bean.setX(value);
+	}
+
+	@Benchmark
+	public int baselineFieldGet() throws IllegalAccessException {
+		return jdkField.getInt(bean);
+	}
+
+	@Benchmark
+	public int baselineSynchronizedAdd() {
+		synchronized (lock) {
+			int result = bean.getX();
+			bean.setX(result + 1);
+			return result;
+		}
+	}
+
+	@Benchmark
+	public Object getAndAdd() {
+		return x.getAndAdd(bean, boxedValue);
+	}
+
+	@Benchmark
+	public boolean compareAndSet() {
+		return x.compareAndSet(bean, boxedValue, boxedValue);
+	}
+
+	@Benchmark
+	public Object getValue() {
+		return x.getValue(bean);
+	}
+
+	@Benchmark
+	public void setValue() {
+		x.setValue(bean, boxedValue);
+	}
+
+	@Benchmark
+	public void setReference() {
+		nameField.setValue(bean, name);
+	}
+
+	@Benchmark
+	public Object getStaticValue() {
+		return counter.getValue();
+	}
+
+	@Benchmark
+	public int compiledGet() {
+		return xGetter.applyAsInt(bean);
+	}
+
+	@Benchmark
+	public void compiledSet() {
+		xSetter.accept(bean, value);
+	}
+
+}
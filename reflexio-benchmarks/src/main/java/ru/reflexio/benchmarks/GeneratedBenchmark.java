@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IConstructorReflection;
+import ru.reflexio.IInstanceFieldReflection;
+import ru.reflexio.IInstanceMethodReflection;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedBenchmark {
+
+	private final ReflectedBean bean = new ReflectedBean(42);
+	private Integer value = 7;
+
+	private IInstanceFieldReflection x;
+	private IInstanceMethodReflection getX;
+	private IInstanceMethodReflection setX;
+	private IConstructorReflection<ReflectedBean> constructor;
+
+	@Setup
+	public void setup() {
+		TypeReflection<ReflectedBean> type = new TypeReflection<>(ReflectedBean.class);
+		x = type.findInstanceField("x");
+		getX = type.findInstanceMethod("getX");
+		setX = type.findInstanceMethod("setX");
+		constructor = type.findConstructor(int.class);
+	}
+
+	@Benchmark
+	public Object getValue() {
+		return x.getValue(bean);
+	}
+
+	@Benchmark
+	public void setValue() {
+		x.setValue(bean, value);
+	}
+
+	@Benchmark
+	public Object invokeGetter() {
+		return getX.invoke(bean);
+	}
+
+	@Benchmark
+	public Object invokeSetter() {
+		return setX.invoke(bean, value);
+	}
+
+	@Benchmark
+	public ReflectedBean instantiate() {
+		return constructor.invoke(value);
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IConstructorReflection;
+import ru.reflexio.InvocationBackend;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstantiateBenchmark {
+
+	@Param({ "Reflection", "MethodHandle" })
+	private InvocationBackend backend;
+
+	private TypeReflection<Bean> type;
+	private IConstructorReflection<Bean> ctor;
+	private Constructor<Bean> jdkCtor;
+	private Integer x = 42;
+	private String name = "bean";
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		type = new TypeReflection<>(Bean.class, backend);
+		ctor = type.findConstructor(int.class);
+		jdkCtor = Bean.class.getConstructor(int.class);
+	}
+
+	@Benchmark
+	public Bean baselineNew() {
+		return new Bean(x);
+	}
+
+	@Benchmark
+	public Bean baselineConstructor() throws ReflectiveOperationException {
+		return jdkCtor.newInstance(x);
+	}
+
+	@Benchmark
+	public Bean instantiate() {
+		return type.instantiate(x);
+	}
+
+	@Benchmark
+	public Bean instantiateString() {
+		return type.instantiate(name);
+	}
+
+	@Benchmark
+	public Bean instantiateDefault() {
+		return type.instantiate();
+	}
+
+	@Benchmark
+	public Bean invokeConstructor() {
+		return ctor.invoke(x);
+	}
+
+	@Benchmark
+	public IConstructorReflection<Bean> findConstructor() {
+		return type.findConstructor(int.class);
+	}
+
+}
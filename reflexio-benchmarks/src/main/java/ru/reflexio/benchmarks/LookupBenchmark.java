@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IInstanceFieldReflection;
+import ru.reflexio.IInstanceMethodReflection;
+import ru.reflexio.IMethodReflection;
+import ru.reflexio.IStaticFieldReflection;
+import ru.reflexio.IStaticMethodReflection;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+	private final TypeReflection<Bean> type = new TypeReflection<>(Bean.class);
+
+	private String fieldName = "weight";
+	private String methodName = "getWeight";
+	private String staticFieldName = "counter";
+	private String staticMethodName = "increment";
+	private String missingName = "missing";
+
+	@Benchmark
+	public Field baselineDeclaredField() throws NoSuchFieldException {
+		return Bean.class.getDeclaredField(fieldName);
+	}
+
+	@Benchmark
+	public Method baselineMethod() throws NoSuchMethodException {
+		return Bean.class.getMethod(methodName);
+	}
+
+	@Benchmark
+	public IInstanceFieldReflection findInstanceField() {
+		return type.findInstanceField(fieldName);
+	}
+
+	@Benchmark
+	public IInstanceFieldReflection findMissingField() {
+		return type.findInstanceField(missingName);
+	}
+
+	@Benchmark
+	public IInstanceMethodReflection findInstanceMethod() {
+		return type.findInstanceMethod(methodName);
+	}
+
+	@Benchmark
+	public IStaticFieldReflection findStaticField() {
+		return type.findStaticField(staticFieldName);
+	}
+
+	@Benchmark
+	public IStaticMethodReflection findStaticMethod() {
+		return type.findStaticMethod(staticMethodName);
+	}
+
+	@Benchmark
+	public List<IMethodReflection> baselineAnnotatedMethods() {
+		List<IMethodReflection> result = new ArrayList<>();
+		for (IInstanceMethodReflection method : type.getInstanceMethods()) {
+			if (method.getAnnotation(Deprecated.class) != null) {
+				result.add(method);
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<IMethodReflection> findAnnotatedMethods() {
+		return type.getAnnotatedMethods(Deprecated.class);
+	}
+
+	@Benchmark
+	public IInstanceMethodReflection baselineFirstInstanceMethod() {
+		for (IInstanceMethodReflection method : type.getInstanceMethods()) {
+			if (method.getName().equals(methodName)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Benchmark
+	public IInstanceMethodReflection streamFirstInstanceMethod() {
+		return type.streamInstanceMethods()
+				.filter(method -> method.getName().equals(methodName))
+				.findFirst()
+				.orElse(null);
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IConstructorReflection;
+import ru.reflexio.IInstanceFieldReflection;
+import ru.reflexio.IInstanceMethodReflection;
+import ru.reflexio.ITypeReflection;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+	private final TypeReflection<Bean> type = new TypeReflection<>(Bean.class);
+
+	@Benchmark
+	public Field[] baselineDeclaredFields() {
+		return Bean.class.getDeclaredFields();
+	}
+
+	@Benchmark
+	public Method[] baselineDeclaredMethods() {
+		return Bean.class.getDeclaredMethods();
+	}
+
+	@Benchmark
+	public Constructor<?>[] baselineDeclaredConstructors() {
+		return Bean.class.getDeclaredConstructors();
+	}
+
+	@Benchmark
+	public List<IInstanceFieldReflection> instanceFields() {
+		return type.getInstanceFields();
+	}
+
+	@Benchmark
+	public List<IInstanceMethodReflection> instanceMethods() {
+		return type.getInstanceMethods();
+	}
+
+	@Benchmark
+	public List<IConstructorReflection<Bean>> constructors() {
+		return type.getConstructors();
+	}
+
+	@Benchmark
+	public List<ITypeReflection<?>> typeHierarchy() {
+		return type.getTypeHierarchy();
+	}
+
+	@Benchmark
+	public List<IInstanceFieldReflection> newTypeInstanceFields() {
+		return new TypeReflection<>(Bean.class).getInstanceFields();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IInstanceMethodReflection;
+import ru.reflexio.IStaticMethodReflection;
+import ru.reflexio.InvocationBackend;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodInvokeBenchmark {
+
+	@Param({ "Reflection", "MethodHandle" })
+	private InvocationBackend backend;
+
+	private final Bean bean = new Bean(42);
+	private Integer value = 7;
+
+	private IInstanceMethodReflection getX;
+	private IInstanceMethodReflection setX;
+	private IStaticMethodReflection increment;
+	private Method jdkGetX;
+	private TypeReflection<Object> objectType;
+	private int hashCodeSlot;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		TypeReflection<Bean> type = new TypeReflection<>(Bean.class, backend);
+		getX = type.findInstanceMethod("getX");
+		setX = type.findInstanceMethod("setX");
+		increment = type.findStaticMethod("increment");
+		jdkGetX = Bean.class.getMethod("getX");
+		objectType = new TypeReflection<>(Object.class, backend);
+		hashCodeSlot = objectType.findVirtualSlot("hashCode");
+	}
+
+	@Benchmark
+	public int baselineCall() {
+		return bean.getX();
+	}
+
+	@Benchmark
+	public Object baselineMethodInvoke() throws ReflectiveOperationException {
+		return jdkGetX.invoke(bean);
+	}
+
+	@Benchmark
+	public Object invokeGetter() {
+		return getX.invoke(bean);
+	}
+
+	@Benchmark
+	public Object invokeSetter() {
+		return setX.invoke(bean, value);
+	}
+
+	@Benchmark
+	public Object baselineFindAndInvoke() {
+		return new TypeReflection<>(bean.getClass(), backend).findInstanceMethod("hashCode").invoke(bean);
+	}
+
+	@Benchmark
+	public Object invokeVirtual() {
+		return objectType.invokeVirtual(hashCodeSlot, bean);
+	}
+
+	@Benchmark
+	public Object invokeStatic() {
+		return increment.invoke();
+	}
+
+}
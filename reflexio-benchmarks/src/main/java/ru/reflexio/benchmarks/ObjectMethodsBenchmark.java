@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.ObjectMethods;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectMethodsBenchmark {
+
+	private final Bean first = new Bean("bean");
+	private final Bean second = new Bean("bean");
+
+	private BiPredicate<Bean, Bean> equals;
+	private ToIntFunction<Bean> hashCode;
+	private Function<Bean, String> toString;
+
+	@Setup
+	public void setup() {
+		TypeReflection<Bean> type = new TypeReflection<>(Bean.class);
+		equals = ObjectMethods.compileEquals(type);
+		hashCode = ObjectMethods.compileHashCode(type);
+		toString = ObjectMethods.compileToString(type);
+	}
+
+	@Benchmark
+	public boolean baselineEquals() {
+		return first.getX() == second.getX() && first.getId() == second.getId()
+				&& Double.compare(first.getWeight(), second.getWeight()) == 0
+				&& Objects.equals(first.getName(), second.getName());
+	}
+
+	@Benchmark
+	public int baselineHashCode() {
+		return Objects.hash(first.getX(), first.getId(), first.getWeight(), first.getName());
+	}
+
+	@Benchmark
+	public boolean compiledEquals() {
+		return equals.test(first, second);
+	}
+
+	@Benchmark
+	public int compiledHashCode() {
+		return hashCode.applyAsInt(first);
+	}
+
+	@Benchmark
+	public String compiledToString() {
+		return toString.apply(first);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.reflexio.IPropertyPathReflection;
+import ru.reflexio.InvocationBackend;
+import ru.reflexio.TypeReflection;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyPathBenchmark {
+
+	public static class Node {
+
+		private Node next;
+		private final List<Bean> beans = new ArrayList<>();
+
+		public Node getNext() {
+			return next;
+		}
+
+		public List<Bean> getBeans() {
+			return beans;
+		}
+
+	}
+
+	private static final String PATH = "next.beans[0].x";
+
+	@Param({ "Reflection", "MethodHandle" })
+	private InvocationBackend backend;
+
+	private final Node root = new Node();
+
+	private TypeReflection<Node> type;
+	private IPropertyPathReflection path;
+
+	@Setup
+	public void setup() {
+		root.next = new Node();
+		root.next.beans.add(new Bean(42));
+		type = new TypeReflection<>(Node.class, backend);
+		path = type.compilePropertyPath(PATH);
+	}
+
+	@Benchmark
+	public int baselineDirect() {
+		Node next = root.getNext();
+		return next == null ? -1 : next.getBeans().get(0).getX();
+	}
+
+	@Benchmark
+	public Object baselineSegmentLookup() {
+		Object next = type.findProperty("next").getValue(root);
+		List<?> beans = (List<?>) new TypeReflection<>(Node.class, backend).findProperty("beans").getValue(next);
+		return new TypeReflection<>(Bean.class, backend).findInstanceField("x").getValue(beans.get(0));
+	}
+
+	@Benchmark
+	public Object compileAndGetValue() {
+		return type.compilePropertyPath(PATH).getValue(root);
+	}
+
+	@Benchmark
+	public Object getValue() {
+		return path.getValue(root);
+	}
+
+	@Benchmark
+	public int getIntValue() {
+		return path.getIntValue(root, -1);
+	}
+
+}
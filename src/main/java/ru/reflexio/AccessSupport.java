@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Member;
+
+final class AccessSupport {
+
+	private static final MethodHandle TRY_SET_ACCESSIBLE = findTrySetAccessible();
+	private static final MethodHandle GET_MODULE = findGetModule();
+
+	private AccessSupport() {
+	}
+
+	static boolean makeAccessible(AccessibleObject element) {
+		if (TRY_SET_ACCESSIBLE == null) {
+			element.setAccessible(true);
+			return true;
+		}
+		try {
+			return (boolean) TRY_SET_ACCESSIBLE.invokeExact(element);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	static String describeModule(Class<?> type) {
+		if (GET_MODULE == null) {
+			return "unnamed module";
+		}
+		try {
+			return String.valueOf((Object) GET_MODULE.invokeExact(type));
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	static <T extends AccessibleObject & Member> MethodHandle unreflect(T element,
+			MemberReflection.HandleResolver<T> resolver) {
+		return null;
+	}
+
+	private static MethodHandle findGetModule() {
+		try {
+			MethodType type = MethodType.methodType(Class.forName("java.lang.Module"));
+			MethodHandle handle = MethodHandles.lookup().findVirtual(Class.class, "getModule", type);
+			return handle.asType(MethodType.methodType(Object.class, Class.class));
+		} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle findTrySetAccessible() {
+		try {
+			MethodType type = MethodType.methodType(boolean.class);
+			return MethodHandles.lookup().findVirtual(AccessibleObject.class, "trySetAccessible", type);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+}
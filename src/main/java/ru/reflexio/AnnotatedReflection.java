@@ -33,6 +33,7 @@ import java.util.List;
 abstract class AnnotatedReflection<T extends AnnotatedElement> implements IReflection {
 	
 	private final T element;
+	private final Lazy<Annotation[]> annotations = new Lazy<>(this::resolveAnnotations);
 	
 	AnnotatedReflection(T element) {
 		if (element == null) {
@@ -60,7 +61,7 @@ abstract class AnnotatedReflection<T extends AnnotatedElement> implements IRefle
 
 	@Override
 	public Annotation[] getAnnotations() {
-		return element.getAnnotations();
+		return annotations.get().clone();
 	}
 
 	@Override
@@ -71,8 +72,8 @@ abstract class AnnotatedReflection<T extends AnnotatedElement> implements IRefle
 	@Override
 	public <A extends Annotation> List<MetaAnnotation<A>> getMetaAnnotations(Class<A> metaClass) {
 		List<MetaAnnotation<A>> result = new ArrayList<>();
-		for (Annotation annotation : element.getAnnotations()) {
-			A meta = annotation.annotationType().getAnnotation(metaClass);
+		for (Annotation annotation : annotations.get()) {
+			A meta = AnnotationMetadata.of(annotation.annotationType()).findMetaAnnotation(metaClass);
 			if (meta != null) {
 				result.add(new MetaAnnotation<>(annotation, meta));
 			}
@@ -80,4 +81,8 @@ abstract class AnnotatedReflection<T extends AnnotatedElement> implements IRefle
 		return result;
 	}
 
+	private Annotation[] resolveAnnotations() {
+		return element.getAnnotations();
+	}
+
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class AnnotationIndex {
+
+	private final Map<Class<?>, List<IFieldReflection>> fields = new HashMap<>();
+	private final Map<Class<?>, List<IMethodReflection>> methods = new HashMap<>();
+	private final Map<Class<?>, List<IConstructorReflection<?>>> constructors = new HashMap<>();
+	private final Map<Class<?>, List<IParameterReflection>> parameters = new HashMap<>();
+
+	AnnotationIndex(TypeMetadata metadata) {
+		add(fields, metadata.getStaticFields());
+		add(fields, metadata.getInstanceFields());
+		add(methods, metadata.getStaticMethods());
+		add(methods, metadata.getInstanceMethods());
+		add(constructors, metadata.getConstructors());
+		addParameters(metadata.getStaticMethods());
+		addParameters(metadata.getInstanceMethods());
+		addParameters(metadata.getConstructors());
+		freeze(fields);
+		freeze(methods);
+		freeze(constructors);
+		freeze(parameters);
+	}
+
+	List<IFieldReflection> getFields(Class<? extends Annotation> annotationType) {
+		return find(fields, annotationType);
+	}
+
+	List<IMethodReflection> getMethods(Class<? extends Annotation> annotationType) {
+		return find(methods, annotationType);
+	}
+
+	List<IConstructorReflection<?>> getConstructors(Class<? extends Annotation> annotationType) {
+		return find(constructors, annotationType);
+	}
+
+	List<IParameterReflection> getParameters(Class<? extends Annotation> annotationType) {
+		return find(parameters, annotationType);
+	}
+
+	private void addParameters(List<? extends IExecutableReflection> executables) {
+		for (IExecutableReflection executable : executables) {
+			add(parameters, executable.getParameters());
+		}
+	}
+
+	private static <R extends IReflection> void add(Map<Class<?>, List<R>> index, List<? extends R> members) {
+		for (R member : members) {
+			for (Class<?> annotationType : collectTypes(member)) {
+				index.computeIfAbsent(annotationType, t -> new ArrayList<>()).add(member);
+			}
+		}
+	}
+
+	private static Set<Class<?>> collectTypes(IReflection member) {
+		Annotation[] annotations = member.getAnnotations();
+		if (annotations.length == 0) {
+			return Collections.emptySet();
+		}
+		Set<Class<?>> result = new LinkedHashSet<>();
+		for (Annotation annotation : annotations) {
+			result.add(annotation.annotationType());
+			result.addAll(AnnotationMetadata.of(annotation.annotationType()).getMetaAnnotationTypes());
+		}
+		return result;
+	}
+
+	private static <R> void freeze(Map<Class<?>, List<R>> index) {
+		index.replaceAll((annotationType, members) -> Collections.unmodifiableList(members));
+	}
+
+	private static <R> List<R> find(Map<Class<?>, List<R>> index, Class<? extends Annotation> annotationType) {
+		if (annotationType == null) {
+			throw new IllegalArgumentException();
+		}
+		return index.getOrDefault(annotationType, Collections.emptyList());
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+final class AnnotationMetadata {
+
+	private static final ClassValue<AnnotationMetadata> REGISTRY = new ClassValue<AnnotationMetadata>() {
+
+		@Override
+		protected AnnotationMetadata computeValue(Class<?> type) {
+			return new AnnotationMetadata(type);
+		}
+
+	};
+
+	static AnnotationMetadata of(Class<? extends Annotation> annotationType) {
+		if (annotationType == null) {
+			throw new IllegalArgumentException();
+		}
+		return REGISTRY.get(annotationType);
+	}
+
+	private final Map<Class<? extends Annotation>, Annotation> metaAnnotations;
+
+	private AnnotationMetadata(Class<?> annotationType) {
+		this.metaAnnotations = resolveMetaAnnotations(annotationType);
+	}
+
+	Set<Class<? extends Annotation>> getMetaAnnotationTypes() {
+		return metaAnnotations.keySet();
+	}
+
+	<A extends Annotation> A findMetaAnnotation(Class<A> metaClass) {
+		return metaClass.cast(metaAnnotations.get(metaClass));
+	}
+
+	private static Map<Class<? extends Annotation>, Annotation> resolveMetaAnnotations(Class<?> annotationType) {
+		Map<Class<? extends Annotation>, Annotation> result = new LinkedHashMap<>();
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		queue.add(annotationType);
+		while (!queue.isEmpty()) {
+			for (Annotation meta : queue.poll().getAnnotations()) {
+				Class<? extends Annotation> metaType = meta.annotationType();
+				if (metaType != annotationType && !result.containsKey(metaType)) {
+					result.put(metaType, meta);
+					queue.add(metaType);
+				}
+			}
+		}
+		return result.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(result);
+	}
+
+}
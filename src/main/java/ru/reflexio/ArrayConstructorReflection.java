@@ -1,7 +1,7 @@
 package ru.reflexio;
 
 import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -15,7 +15,12 @@ abstract class ArrayConstructorReflection<T> extends VirtualReflection implement
 
         @Override
         public List<IParameterReflection> getParameters() {
-            return new ArrayList<>();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int getParameterCount() {
+            return 0;
         }
 
         @Override
@@ -27,7 +32,8 @@ abstract class ArrayConstructorReflection<T> extends VirtualReflection implement
 
     static class Length<T> extends ArrayConstructorReflection<T> {
 
-        private final VirtualParameterReflection parameter = new VirtualParameterReflection(int.class, "length");
+        private static final List<IParameterReflection> PARAMETERS =
+                Collections.singletonList(new VirtualParameterReflection(int.class, "length"));
 
         Length(Class<?> arrayType) {
             super(arrayType);
@@ -35,9 +41,12 @@ abstract class ArrayConstructorReflection<T> extends VirtualReflection implement
 
         @Override
         public List<IParameterReflection> getParameters() {
-            List<IParameterReflection> result = new ArrayList<>();
-            result.add(parameter);
-            return result;
+            return PARAMETERS;
+        }
+
+        @Override
+        public int getParameterCount() {
+            return 1;
         }
 
         @Override
@@ -66,6 +75,11 @@ abstract class ArrayConstructorReflection<T> extends VirtualReflection implement
         return arrayType.getName();
     }
 
+    @Override
+    public boolean isVarArgs() {
+        return false;
+    }
+
     @Override
     public Class<?> getType() {
         return arrayType;
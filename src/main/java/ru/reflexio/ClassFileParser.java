@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class ClassFileParser {
+
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+	private final ByteBuffer buffer;
+	private int position;
+	private int[] offsets;
+
+	private ClassFileParser(ByteBuffer buffer, int offset) {
+		this.buffer = buffer;
+		this.position = offset;
+	}
+
+	static TypeDescriptor parse(ByteBuffer buffer, int offset, Path source) {
+		try {
+			return new ClassFileParser(buffer, offset).parse(source);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Truncated class file", e);
+		}
+	}
+
+	private TypeDescriptor parse(Path source) {
+		if (u4() != MAGIC) {
+			throw new IllegalArgumentException("Not a class file");
+		}
+		position += 4;
+		readConstantPool();
+		int modifiers = u2();
+		String name = className(u2());
+		int superIndex = u2();
+		String superclassName = superIndex == 0 ? null : className(superIndex);
+		int interfaceCount = u2();
+		List<String> interfaceNames = new ArrayList<>(interfaceCount);
+		for (int i = 0; i < interfaceCount; i++) {
+			interfaceNames.add(className(u2()));
+		}
+		Set<String> memberAnnotationNames = new LinkedHashSet<>();
+		readMembers(memberAnnotationNames);
+		readMembers(memberAnnotationNames);
+		List<String> annotationNames = new ArrayList<>();
+		readAttributes(annotationNames);
+		return new TypeDescriptor(name, superclassName, interfaceNames, modifiers, annotationNames,
+				new ArrayList<>(memberAnnotationNames), source);
+	}
+
+	private void readConstantPool() {
+		int count = u2();
+		offsets = new int[count];
+		for (int i = 1; i < count; i++) {
+			offsets[i] = position;
+			int tag = u1();
+			switch (tag) {
+			case 1:
+				int length = u2();
+				position += length;
+				break;
+			case 3:
+			case 4:
+			case 9:
+			case 10:
+			case 11:
+			case 12:
+			case 17:
+			case 18:
+				position += 4;
+				break;
+			case 5:
+			case 6:
+				position += 8;
+				i++;
+				break;
+			case 7:
+			case 8:
+			case 16:
+			case 19:
+			case 20:
+				position += 2;
+				break;
+			case 15:
+				position += 3;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+			}
+		}
+	}
+
+	private void readMembers(Collection<String> annotationNames) {
+		int count = u2();
+		for (int i = 0; i < count; i++) {
+			position += 6;
+			readAttributes(annotationNames);
+		}
+	}
+
+	private void readAttributes(Collection<String> annotationNames) {
+		int count = u2();
+		for (int i = 0; i < count; i++) {
+			int nameIndex = u2();
+			int length = u4();
+			int end = position + length;
+			if (utf8Equals(nameIndex, RUNTIME_VISIBLE_ANNOTATIONS)) {
+				int annotationCount = u2();
+				for (int j = 0; j < annotationCount; j++) {
+					readAnnotation(annotationNames);
+				}
+			}
+			position = end;
+		}
+	}
+
+	private void readAnnotation(Collection<String> annotationNames) {
+		int typeIndex = u2();
+		if (annotationNames != null) {
+			String descriptor = utf8(typeIndex);
+			annotationNames.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+		}
+		int pairCount = u2();
+		for (int i = 0; i < pairCount; i++) {
+			position += 2;
+			skipElementValue();
+		}
+	}
+
+	private void skipElementValue() {
+		int tag = u1();
+		switch (tag) {
+		case 'e':
+			position += 4;
+			break;
+		case '@':
+			readAnnotation(null);
+			break;
+		case '[':
+			int count = u2();
+			for (int i = 0; i < count; i++) {
+				skipElementValue();
+			}
+			break;
+		default:
+			position += 2;
+		}
+	}
+
+	private String className(int index) {
+		return utf8(buffer.getShort(offsets[index] + 1) & 0xFFFF).replace('/', '.');
+	}
+
+	private boolean utf8Equals(int index, byte[] expected) {
+		int offset = offsets[index] + 1;
+		if ((buffer.getShort(offset) & 0xFFFF) != expected.length) {
+			return false;
+		}
+		offset += 2;
+		for (int i = 0; i < expected.length; i++) {
+			if (buffer.get(offset + i) != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String utf8(int index) {
+		int offset = offsets[index] + 1;
+		int length = buffer.getShort(offset) & 0xFFFF;
+		offset += 2;
+		int end = offset + length;
+		char[] chars = new char[length];
+		int count = 0;
+		while (offset < end) {
+			int b = buffer.get(offset++) & 0xFF;
+			if (b < 0x80) {
+				chars[count++] = (char) b;
+			} else if ((b & 0xE0) == 0xC0) {
+				chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get(offset++) & 0x3F));
+			} else {
+				int b2 = buffer.get(offset++) & 0x3F;
+				int b3 = buffer.get(offset++) & 0x3F;
+				chars[count++] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+	private int u1() {
+		return buffer.get(position++) & 0xFF;
+	}
+
+	private int u2() {
+		int result = buffer.getShort(position) & 0xFFFF;
+		position += 2;
+		return result;
+	}
+
+	private int u4() {
+		int result = buffer.getInt(position);
+		position += 4;
+		return result;
+	}
+
+}
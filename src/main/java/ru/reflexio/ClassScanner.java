@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Inflater;
+
+public class ClassScanner {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final int BATCH_SIZE = 64;
+
+	private final ForkJoinPool pool;
+	private final Predicate<String> classNameFilter;
+	private final MetadataCache cache;
+	private final BiConsumer<String, Exception> skipHandler;
+
+	public ClassScanner() {
+		this(ForkJoinPool.commonPool(), name -> true);
+	}
+
+	public ClassScanner(MetadataCache cache) {
+		this(ForkJoinPool.commonPool(), name -> true, cache);
+	}
+
+	public ClassScanner(Predicate<String> classNameFilter) {
+		this(ForkJoinPool.commonPool(), classNameFilter);
+	}
+
+	public ClassScanner(ForkJoinPool pool, Predicate<String> classNameFilter) {
+		this(pool, classNameFilter, null);
+	}
+
+	public ClassScanner(ForkJoinPool pool, Predicate<String> classNameFilter, MetadataCache cache) {
+		this(pool, classNameFilter, cache, (location, e) -> {});
+	}
+
+	public ClassScanner(ForkJoinPool pool, Predicate<String> classNameFilter, MetadataCache cache,
+			BiConsumer<String, Exception> skipHandler) {
+		if (pool == null || classNameFilter == null || skipHandler == null) {
+			throw new IllegalArgumentException();
+		}
+		this.pool = pool;
+		this.classNameFilter = classNameFilter;
+		this.cache = cache;
+		this.skipHandler = skipHandler;
+	}
+
+	public List<TypeDescriptor> scanClassPath() {
+		List<Path> roots = new ArrayList<>();
+		for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+			if (!entry.isEmpty()) {
+				roots.add(Paths.get(entry));
+			}
+		}
+		return scan(roots);
+	}
+
+	public List<TypeDescriptor> scan(Path... roots) {
+		return scan(Arrays.asList(roots));
+	}
+
+	public List<TypeDescriptor> scan(Collection<Path> roots) {
+		if (roots == null) {
+			throw new IllegalArgumentException();
+		}
+		List<RecursiveTask<List<TypeDescriptor>>> tasks = new ArrayList<>();
+		for (Path root : roots) {
+			if (Files.isDirectory(root)) {
+				tasks.add(new DirectoryTask(root));
+			} else if (Files.isRegularFile(root) && isArchive(root)) {
+				tasks.add(new ArchiveTask(root));
+			}
+		}
+		List<TypeDescriptor> descriptors = pool.invoke(new RecursiveTask<List<TypeDescriptor>>() {
+
+			@Override
+			protected List<TypeDescriptor> compute() {
+				return joinAll(invokeAll(tasks));
+			}
+
+		});
+		if (cache != null && cache.isModified()) {
+			try {
+				cache.save();
+			} catch (IOException ignore) {}
+		}
+		Map<String, TypeDescriptor> result = new LinkedHashMap<>();
+		for (TypeDescriptor descriptor : descriptors) {
+			result.putIfAbsent(descriptor.getName(), descriptor);
+		}
+		return Collections.unmodifiableList(new ArrayList<>(result.values()));
+	}
+
+	private boolean accept(String path) {
+		return isClassFile(path) && acceptName(path);
+	}
+
+	private boolean acceptName(String path) {
+		String name = path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.').replace('\\', '.');
+		return classNameFilter.test(name);
+	}
+
+	private static List<TypeDescriptor> present(List<TypeDescriptor> descriptors) {
+		List<TypeDescriptor> result = new ArrayList<>(descriptors.size());
+		for (TypeDescriptor descriptor : descriptors) {
+			if (descriptor != null) {
+				result.add(descriptor);
+			}
+		}
+		return result;
+	}
+
+	private List<TypeDescriptor> filter(List<TypeDescriptor> descriptors) {
+		List<TypeDescriptor> result = new ArrayList<>();
+		for (TypeDescriptor descriptor : descriptors) {
+			if (classNameFilter.test(descriptor.getName())) {
+				result.add(descriptor);
+			}
+		}
+		return result;
+	}
+
+	private static boolean isClassFile(String path) {
+		return path.endsWith(CLASS_SUFFIX) && !path.startsWith("META-INF/") && !path.endsWith("module-info.class");
+	}
+
+	private static boolean isArchive(Path path) {
+		String name = path.getFileName().toString().toLowerCase();
+		return name.endsWith(".jar") || name.endsWith(".zip");
+	}
+
+	private TypeDescriptor skip(String location, Exception e) {
+		skipHandler.accept(location, e);
+		return null;
+	}
+
+	private static <R> List<R> joinAll(Collection<? extends RecursiveTask<List<R>>> tasks) {
+		List<R> result = new ArrayList<>();
+		for (RecursiveTask<List<R>> task : tasks) {
+			result.addAll(task.join());
+		}
+		return result;
+	}
+
+	private abstract class BatchTask<S> extends RecursiveTask<List<TypeDescriptor>> {
+
+		private final List<S> items;
+
+		BatchTask(List<S> items) {
+			this.items = items;
+		}
+
+		@Override
+		protected List<TypeDescriptor> compute() {
+			if (items.size() <= BATCH_SIZE) {
+				return parse(items);
+			}
+			List<BatchTask<S>> tasks = new ArrayList<>();
+			for (int i = 0; i < items.size(); i += BATCH_SIZE) {
+				tasks.add(fork(items.subList(i, Math.min(items.size(), i + BATCH_SIZE))));
+			}
+			return joinAll(invokeAll(tasks));
+		}
+
+		abstract BatchTask<S> fork(List<S> batch);
+
+		abstract List<TypeDescriptor> parse(List<S> batch);
+
+	}
+
+	private class DirectoryTask extends RecursiveTask<List<TypeDescriptor>> {
+
+		private final Path root;
+
+		DirectoryTask(Path root) {
+			this.root = root;
+		}
+
+		@Override
+		protected List<TypeDescriptor> compute() {
+			if (cache == null) {
+				List<Path> files;
+				try (Stream<Path> stream = Files.walk(root)) {
+					files = stream.filter(path -> accept(root.relativize(path).toString())).collect(Collectors.toList());
+				} catch (IOException | UncheckedIOException e) {
+					skip(root.toString(), e);
+					return Collections.emptyList();
+				}
+				return present(new FileBatch(root, files).compute());
+			}
+			try {
+				return computeCached();
+			} catch (IOException e) {
+				skip(root.toString(), e);
+				return Collections.emptyList();
+			}
+		}
+
+		private List<TypeDescriptor> computeCached() throws IOException {
+			Map<String, MetadataCache.Record> previous = cache.findDirectory(root);
+			Map<String, MetadataCache.Record> current = new HashMap<>();
+			List<String> names = new ArrayList<>();
+			List<Path> pending = new ArrayList<>();
+			List<BasicFileAttributes> pendingAttributes = new ArrayList<>();
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					String name = root.relativize(file).toString().replace('\\', '/');
+					if (!attributes.isRegularFile() || !isClassFile(name)) {
+						return FileVisitResult.CONTINUE;
+					}
+					MetadataCache.Record record = previous.get(name);
+					if (record != null && record.matches(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+						current.put(name, record);
+					} else if (acceptName(name)) {
+						pending.add(file);
+						pendingAttributes.add(attributes);
+					} else {
+						return FileVisitResult.CONTINUE;
+					}
+					names.add(name);
+					return FileVisitResult.CONTINUE;
+				}
+
+			});
+			List<TypeDescriptor> parsed = new FileBatch(root, pending).compute();
+			for (int i = 0; i < parsed.size(); i++) {
+				if (parsed.get(i) == null) {
+					continue;
+				}
+				BasicFileAttributes attributes = pendingAttributes.get(i);
+				current.put(root.relativize(pending.get(i)).toString().replace('\\', '/'), new MetadataCache.Record(
+						attributes.size(), attributes.lastModifiedTime().toMillis(), parsed.get(i)));
+			}
+			if (!current.keySet().equals(previous.keySet()) || !parsed.isEmpty()) {
+				cache.putDirectory(root, current);
+			}
+			List<TypeDescriptor> result = new ArrayList<>();
+			for (String name : names) {
+				MetadataCache.Record record = current.get(name);
+				if (record != null && acceptName(name)) {
+					result.add(record.getDescriptor());
+				}
+			}
+			return result;
+		}
+
+	}
+
+	private class FileBatch extends BatchTask<Path> {
+
+		private final Path root;
+
+		FileBatch(Path root, List<Path> files) {
+			super(files);
+			this.root = root;
+		}
+
+		@Override
+		BatchTask<Path> fork(List<Path> batch) {
+			return new FileBatch(root, batch);
+		}
+
+		@Override
+		List<TypeDescriptor> parse(List<Path> batch) {
+			List<TypeDescriptor> result = new ArrayList<>(batch.size());
+			for (Path file : batch) {
+				try {
+					result.add(ClassFileParser.parse(ByteBuffer.wrap(Files.readAllBytes(file)), 0, root));
+				} catch (IOException | RuntimeException e) {
+					result.add(skip(file.toString(), e));
+				}
+			}
+			return result;
+		}
+
+	}
+
+	private class ArchiveTask extends RecursiveTask<List<TypeDescriptor>> {
+
+		private final Path root;
+
+		ArchiveTask(Path root) {
+			this.root = root;
+		}
+
+		@Override
+		protected List<TypeDescriptor> compute() {
+			try {
+				if (cache == null) {
+					return parse(ClassScanner.this::accept);
+				}
+				BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class);
+				long size = attributes.size();
+				long modified = attributes.lastModifiedTime().toMillis();
+				MetadataCache.Archive archive = cache.findArchive(root);
+				if (archive == null || !archive.matches(size, modified)) {
+					archive = new MetadataCache.Archive(size, modified, parse(ClassScanner::isClassFile));
+					cache.putArchive(root, archive);
+				}
+				return filter(archive.getDescriptors());
+			} catch (IOException | RuntimeException e) {
+				skip(root.toString(), e);
+				return Collections.emptyList();
+			}
+		}
+
+		private List<TypeDescriptor> parse(Predicate<String> entryFilter) throws IOException {
+			ZipArchive archive = ZipArchive.open(root);
+			return present(new EntryBatch(archive, archive.getEntries(entryFilter)).compute());
+		}
+
+	}
+
+	private class EntryBatch extends BatchTask<ZipArchive.Entry> {
+
+		private final ZipArchive archive;
+
+		EntryBatch(ZipArchive archive, List<ZipArchive.Entry> entries) {
+			super(entries);
+			this.archive = archive;
+		}
+
+		@Override
+		BatchTask<ZipArchive.Entry> fork(List<ZipArchive.Entry> batch) {
+			return new EntryBatch(archive, batch);
+		}
+
+		@Override
+		List<TypeDescriptor> parse(List<ZipArchive.Entry> batch) {
+			List<TypeDescriptor> result = new ArrayList<>(batch.size());
+			Inflater inflater = new Inflater(true);
+			try {
+				for (ZipArchive.Entry entry : batch) {
+					try {
+						result.add(ClassFileParser.parse(archive.read(entry, inflater), 0, archive.getPath()));
+					} catch (IOException | RuntimeException e) {
+						result.add(skip(archive.getPath() + "!" + entry.getName(), e));
+					}
+				}
+			} finally {
+				inflater.end();
+			}
+			return result;
+		}
+
+	}
+
+}
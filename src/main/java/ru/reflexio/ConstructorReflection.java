@@ -25,24 +25,67 @@
  */
 package ru.reflexio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 
 class ConstructorReflection<T> extends ExecutableReflection<Constructor<T>> implements IConstructorReflection<T> {
 
-	ConstructorReflection(Constructor<T> constructor) {
-		super(constructor);
+	private final Lazy<MethodHandle> invoker = new Lazy<>(this::resolveInvoker);
+
+	ConstructorReflection(Constructor<T> constructor, InvocationBackend backend) {
+		super(constructor, backend);
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public T invoke(Object... args) {
-		return forceAccess(() -> {
+		int index = getGeneratedIndex();
+		if (index >= 0) {
+			try {
+				return (T) getGenerated().newInstance(index, checkArguments(args));
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+		if (getBackend() == InvocationBackend.MethodHandle) {
 			try {
-				return getElement().newInstance(args);
-			} catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
-				throw new RuntimeException(e);
+				return (T) (Object) invoker.get().invokeExact(args);
+			} catch (Throwable e) {
+				throw rethrow(e);
 			}
-		});
+		}
+		ensureAccess();
+		try {
+			return getElement().newInstance(args);
+		} catch (InvocationTargetException e) {
+			throw rethrow(e.getCause());
+		} catch (IllegalAccessException | InstantiationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	void prepare() {
+		super.prepare();
+		boolean instantiable = !Modifier.isAbstract(getElement().getDeclaringClass().getModifiers());
+		if (instantiable && getGeneratedIndex() < 0 && getBackend() == InvocationBackend.MethodHandle) {
+			invoker.get();
+		}
+	}
+
+	@Override
+	int findGenerated(GeneratedReflection<?> reflection) {
+		return reflection.findConstructor(getSignature());
+	}
+
+	private MethodHandle resolveInvoker() {
+		MethodHandle handle = unreflect(MethodHandles.Lookup::unreflectConstructor).asFixedArity();
+		int count = getParameterCount();
+		return handle.asType(MethodType.genericMethodType(count)).asSpreader(Object[].class, count);
 	}
 
 	@Override
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+public class Copier<T> {
+
+	public enum Policy {
+		Share,
+		Clone,
+		Deep
+	}
+
+	private static final MethodType ROUTINE_TYPE = MethodType.methodType(void.class, Object.class, Object.class, Map.class);
+	private static final MethodHandle SKIP;
+	private static final MethodHandle COPY_FIELD;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			SKIP = lookup.findStatic(Copier.class, "skip", ROUTINE_TYPE);
+			COPY_FIELD = lookup.findVirtual(Copier.class, "copyValue",
+					MethodType.methodType(Object.class, Object.class, Map.class, Class.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final ITypeReflection<T> type;
+	private final Policy policy;
+	private final List<Map.Entry<Class<?>, Policy>> policies;
+	private final Map<Class<?>, Copier<?>> copiers;
+	private final Map<Class<?>, Copier<?>> clones;
+	private final Lazy<MethodHandle> routine = new Lazy<>(this::compile);
+
+	public Copier(ITypeReflection<T> type) {
+		this(type, Policy.Share);
+	}
+
+	public Copier(ITypeReflection<T> type, Policy policy) {
+		this(type, policy, Collections.emptyList(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+	}
+
+	private Copier(ITypeReflection<T> type, Policy policy, List<Map.Entry<Class<?>, Policy>> policies,
+			Map<Class<?>, Copier<?>> copiers, Map<Class<?>, Copier<?>> clones) {
+		if (type == null || policy == null) {
+			throw new IllegalArgumentException();
+		}
+		this.type = type;
+		this.policy = policy;
+		this.policies = policies;
+		this.copiers = copiers;
+		this.clones = clones;
+	}
+
+	public Copier<T> withPolicy(Class<?> valueType, Policy valuePolicy) {
+		if (valueType == null || valuePolicy == null) {
+			throw new IllegalArgumentException();
+		}
+		List<Map.Entry<Class<?>, Policy>> result = new ArrayList<>(policies);
+		result.add(new AbstractMap.SimpleImmutableEntry<>(valueType, valuePolicy));
+		return new Copier<>(type, policy, Collections.unmodifiableList(result), new ConcurrentHashMap<>(),
+				clones);
+	}
+
+	public ITypeReflection<T> getTypeReflection() {
+		return type;
+	}
+
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T copy(T source) {
+		if (source == null) {
+			return null;
+		}
+		Map<Object, Object> copies = isTransparent() ? null : new IdentityHashMap<>();
+		if (source.getClass() != type.getType()) {
+			return (T) copyObject(source, true, copies);
+		}
+		T target = newInstance();
+		if (copies != null) {
+			copies.put(source, target);
+		}
+		transfer(target, source, copies);
+		return target;
+	}
+
+	public void copy(T source, T target) {
+		if (source == null || target == null) {
+			throw new IllegalArgumentException();
+		}
+		transfer(target, source, isTransparent() ? null : new IdentityHashMap<>());
+	}
+
+	private void transfer(Object target, Object source, Map<Object, Object> copies) {
+		try {
+			routine.get().invokeExact(target, source, copies);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	private T newInstance() {
+		IConstructorReflection<T> ctor = type.findConstructor();
+		if (ctor == null) {
+			throw new IllegalArgumentException(type.getName() + " has no default constructor");
+		}
+		return ctor.invoke();
+	}
+
+	private boolean isTransparent() {
+		return policy == Policy.Share && policies.isEmpty();
+	}
+
+	private MethodHandle compile() {
+		List<IInstanceFieldReflection> fields = type.getInstanceFields();
+		MethodHandle result = SKIP;
+		for (int i = fields.size() - 1; i >= 0; i--) {
+			result = MethodHandles.foldArguments(result, compileTransfer((InstanceFieldReflection) fields.get(i)));
+		}
+		return result;
+	}
+
+	private MethodHandle compileTransfer(InstanceFieldReflection field) {
+		MethodHandle getter = field.getDirectGetter();
+		MethodHandle setter = field.getDirectSetter();
+		Class<?> fieldType = field.getType();
+		MethodHandle result;
+		if (isTransparent() || fieldType.isPrimitive() || isImmutable(fieldType)) {
+			result = MethodHandles.dropArguments(MethodHandles.filterArguments(setter, 1, getter), 2, Map.class);
+		} else {
+			MethodHandle copy = MethodHandles.insertArguments(COPY_FIELD.bindTo(this), 2, fieldType)
+					.asType(MethodType.methodType(fieldType, fieldType, Map.class));
+			result = MethodHandles.collectArguments(setter, 1, MethodHandles.filterArguments(copy, 0, getter));
+		}
+		return result.asType(ROUTINE_TYPE);
+	}
+
+	private Object copyValue(Object value, Map<Object, Object> copies, Class<?> targetType) {
+		Object result = copyValue(value, copies);
+		if (result != null && !targetType.isInstance(result)) {
+			throw new IllegalArgumentException("Cannot copy " + value.getClass().getName() + " into "
+					+ targetType.getName() + ", use Policy.Share for it");
+		}
+		return result;
+	}
+
+	private Object copyValue(Object value, Map<Object, Object> copies) {
+		if (value == null) {
+			return null;
+		}
+		Class<?> valueType = value.getClass();
+		Policy valuePolicy = findPolicy(valueType);
+		if (valuePolicy == Policy.Share || isImmutable(valueType)) {
+			return value;
+		}
+		Object copy = copies.get(value);
+		if (copy != null) {
+			return copy;
+		}
+		if (valueType.isArray()) {
+			return copyArray(value, valuePolicy, copies);
+		} else if (value instanceof Collection) {
+			return copyCollection((Collection<?>) value, valuePolicy, copies);
+		} else if (value instanceof Map) {
+			return copyMap((Map<?, ?>) value, valuePolicy, copies);
+		} else if (value instanceof Optional) {
+			Optional<?> optional = (Optional<?>) value;
+			return valuePolicy == Policy.Deep && optional.isPresent() ? Optional.of(copyValue(optional.get(), copies))
+					: value;
+		} else if (value instanceof Cloneable && isPlatformType(valueType)) {
+			IInstanceMethodReflection clone = findClone(valueType);
+			if (clone != null) {
+				Object result = clone.invoke(value);
+				copies.put(value, result);
+				return result;
+			}
+		}
+		return copyObject(value, valuePolicy == Policy.Deep, copies);
+	}
+
+	private Policy findPolicy(Class<?> valueType) {
+		for (Map.Entry<Class<?>, Policy> entry : policies) {
+			if (entry.getKey().isAssignableFrom(valueType)) {
+				return entry.getValue();
+			}
+		}
+		return policy;
+	}
+
+	private Object copyArray(Object array, Policy valuePolicy, Map<Object, Object> copies) {
+		int length = Array.getLength(array);
+		Class<?> componentType = array.getClass().getComponentType();
+		Object result = Array.newInstance(componentType, length);
+		copies.put(array, result);
+		if (componentType.isPrimitive() || valuePolicy == Policy.Clone) {
+			System.arraycopy(array, 0, result, 0, length);
+		} else {
+			Object[] source = (Object[]) array;
+			Object[] target = (Object[]) result;
+			for (int i = 0; i < length; i++) {
+				target[i] = copyValue(source[i], copies, componentType);
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object copyCollection(Collection<?> collection, Policy valuePolicy, Map<Object, Object> copies) {
+		Collection result;
+		if (collection instanceof EnumSet) {
+			result = EnumSet.copyOf((EnumSet) collection);
+			result.clear();
+		} else if (collection instanceof SortedSet) {
+			result = (Collection) instantiate(collection.getClass(), ((SortedSet) collection).comparator());
+			if (result == null) {
+				result = new TreeSet<>(((SortedSet) collection).comparator());
+			}
+		} else {
+			result = (Collection) instantiate(collection.getClass());
+			if (result == null) {
+				if (collection instanceof List) {
+					result = new ArrayList<>(collection.size());
+				} else if (collection instanceof Set) {
+					result = new LinkedHashSet<>();
+				} else if (collection instanceof Queue) {
+					result = new ArrayDeque<>(collection.size());
+				} else {
+					result = new ArrayList<>(collection.size());
+				}
+			}
+		}
+		Collection<?> view = isUnmodifiable(collection) ? unmodifiable(result) : result;
+		copies.put(collection, view);
+		for (Object element : collection) {
+			result.add(valuePolicy == Policy.Deep ? copyValue(element, copies) : element);
+		}
+		return view;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object copyMap(Map<?, ?> map, Policy valuePolicy, Map<Object, Object> copies) {
+		Map result;
+		if (map instanceof EnumMap) {
+			result = new EnumMap<>((EnumMap) map);
+			result.clear();
+		} else if (map instanceof SortedMap) {
+			result = (Map) instantiate(map.getClass(), ((SortedMap) map).comparator());
+			if (result == null) {
+				result = new TreeMap<>(((SortedMap) map).comparator());
+			}
+		} else {
+			result = (Map) instantiate(map.getClass());
+			if (result == null) {
+				result = new LinkedHashMap<>();
+			}
+		}
+		Map<?, ?> view = result;
+		if (isUnmodifiable(map)) {
+			view = result instanceof SortedMap ? Collections.unmodifiableSortedMap((SortedMap) result)
+					: Collections.unmodifiableMap(result);
+		}
+		copies.put(map, view);
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			result.put(entry.getKey(), valuePolicy == Policy.Deep ? copyValue(value, copies) : value);
+		}
+		return view;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object copyObject(Object value, boolean deep, Map<Object, Object> copies) {
+		Class<Object> valueType = (Class<Object>) value.getClass();
+		Copier<Object> copier = (Copier<Object>) (deep
+				? copiers.computeIfAbsent(valueType, cl -> new Copier<>(new TypeReflection<>(valueType), policy, policies, copiers, clones))
+				: clones.computeIfAbsent(valueType, cl -> new Copier<>(new TypeReflection<>(valueType))));
+		Object result = copier.newInstance();
+		if (copies != null) {
+			copies.put(value, result);
+		}
+		copier.transfer(result, value, copier.isTransparent() ? null : copies);
+		return result;
+	}
+
+	private static Object instantiate(Class<?> type) {
+		return instantiate(type, new Class<?>[0]);
+	}
+
+	private static Object instantiate(Class<?> type, Comparator<?> comparator) {
+		return instantiate(type, new Class<?>[] { Comparator.class }, comparator);
+	}
+
+	private static Object instantiate(Class<?> type, Class<?>[] parameterTypes, Object... args) {
+		if (!Modifier.isPublic(type.getModifiers())) {
+			return null;
+		}
+		IConstructorReflection<?> ctor = TypeMetadata.of(type, InvocationBackend.Reflection).findConstructor(parameterTypes);
+		return ctor == null || ctor.getAccessType() != IMemberReflection.AccessType.Public ? null : ctor.invoke(args);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Collection<?> unmodifiable(Collection result) {
+		if (result instanceof List) {
+			return Collections.unmodifiableList((List) result);
+		} else if (result instanceof SortedSet) {
+			return Collections.unmodifiableSortedSet((SortedSet) result);
+		} else if (result instanceof Set) {
+			return Collections.unmodifiableSet((Set) result);
+		}
+		return Collections.unmodifiableCollection(result);
+	}
+
+	private static IInstanceMethodReflection findClone(Class<?> type) {
+		MethodTable table = TypeMetadata.of(type, InvocationBackend.Reflection).getMethodTable();
+		int slot = table.findSlot("clone", new Class<?>[0]);
+		if (slot < 0) {
+			return null;
+		}
+		IInstanceMethodReflection clone = table.get(slot);
+		boolean visible = Modifier.isPublic(((InstanceMethodReflection) clone).getElement().getDeclaringClass().getModifiers());
+		return visible && clone.getAccessType() == IMemberReflection.AccessType.Public ? clone : null;
+	}
+
+	private static boolean isUnmodifiable(Object value) {
+		String name = value.getClass().getName();
+		return name.startsWith("java.util.Collections$Unmodifiable") || name.startsWith("java.util.Collections$Empty")
+				|| name.startsWith("java.util.Collections$Singleton") || name.startsWith("java.util.ImmutableCollections$");
+	}
+
+	private static boolean isImmutable(Class<?> type) {
+		return type.isPrimitive() || type.isEnum() || Primitive.findByBoxedType(type) != null || type == String.class
+				|| type == Class.class || type == BigInteger.class || type == BigDecimal.class || type == UUID.class
+				|| type == Locale.class || type == Currency.class || type == URI.class || type == URL.class
+				|| type == Pattern.class || type == File.class || Path.class.isAssignableFrom(type)
+				|| Charset.class.isAssignableFrom(type) || type.getName().startsWith("java.time.")
+				|| type == OptionalInt.class || type == OptionalLong.class || type == OptionalDouble.class
+				|| type == MathContext.class || InetAddress.class.isAssignableFrom(type)
+				|| type == InetSocketAddress.class || type == StackTraceElement.class;
+	}
+
+	private static boolean isPlatformType(Class<?> type) {
+		String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+	}
+
+	@SuppressWarnings("unused")
+	private static void skip(Object target, Object source, Map<?, ?> copies) {
+	}
+
+}
@@ -26,38 +26,94 @@
 package ru.reflexio;
 
 import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 abstract class ExecutableReflection<T extends Executable> extends MemberReflection<T> implements IExecutableReflection {
 
-	ExecutableReflection(T executable) {
-		super(executable);
+	private final Class<?>[] parameterTypes;
+	private final boolean varArgs;
+	private final Lazy<List<IParameterReflection>> parameters = new Lazy<>(this::resolveParameters);
+
+	ExecutableReflection(T executable, InvocationBackend backend) {
+		super(executable, backend);
+		parameterTypes = executable.getParameterTypes();
+		varArgs = executable.isVarArgs();
 	}
 
 	@Override
 	public List<IParameterReflection> getParameters() {
+		return parameters.get();
+	}
+
+	@Override
+	public int getParameterCount() {
+		return parameterTypes.length;
+	}
+
+	@Override
+	public boolean isVarArgs() {
+		return varArgs;
+	}
+
+	String getSignature() {
+		StringBuilder result = new StringBuilder();
+		if (getElement() instanceof Method) {
+			result.append(getName());
+		}
+		result.append('(');
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append(parameterTypes[i].getTypeName());
+		}
+		return result.append(')').toString();
+	}
+
+	Object[] checkArguments(Object[] args) {
+		Object[] result = args == null ? new Object[0] : args;
+		if (result.length != parameterTypes.length) {
+			throw new IllegalArgumentException("Wrong number of arguments: expected " + parameterTypes.length
+					+ ", got " + result.length);
+		}
+		return result;
+	}
+
+	private List<IParameterReflection> resolveParameters() {
+		if (parameterTypes.length == 0) {
+			return Collections.emptyList();
+		}
 		List<IParameterReflection> result = new ArrayList<>();
 		for (Parameter param : getElement().getParameters()) {
-			result.add(new ParameterReflection(param));
+			result.add(new ParameterReflection(param, getBackend()));
 		}
-		return result;
+		return Collections.unmodifiableList(result);
 	}
 
 	@Override
 	public boolean canInvoke(Class<?>... types) {
-		Parameter[] params = getElement().getParameters();
-		if (types.length != params.length) {
+		return canInvoke(types, true);
+	}
+
+	boolean canInvoke(Class<?>[] types, boolean widening) {
+		if (types.length != parameterTypes.length) {
 			return false;
 		}
-		for (int i = 0; i < params.length; i++) {
+		for (int i = 0; i < parameterTypes.length; i++) {
 			Class<?> type = types[i];
-			Class<?> paramType = params[i].getType();
+			Class<?> paramType = parameterTypes[i];
 			if (type == null) {
 				if (paramType.isPrimitive()) {
 					return false;
 				}
+			} else if (widening) {
+				if (!Primitive.canConvert(type, paramType)) {
+					return false;
+				}
 			} else if (type.isPrimitive() && paramType.isPrimitive()) {
 				if (paramType != type) {
 					return false;
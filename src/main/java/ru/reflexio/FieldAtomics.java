@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+final class FieldAtomics {
+
+	private static final Object UNSAFE = findUnsafe();
+
+	private static final MethodHandle OBJECT_FIELD_OFFSET = find("objectFieldOffset", long.class, Field.class);
+	private static final MethodHandle STATIC_FIELD_OFFSET = find("staticFieldOffset", long.class, Field.class);
+	private static final MethodHandle STATIC_FIELD_BASE = find("staticFieldBase", Object.class, Field.class);
+	private static final MethodHandle ENSURE_CLASS_INITIALIZED = find("ensureClassInitialized", void.class, Class.class);
+
+	private static final MethodHandle GET_INT_VOLATILE = find("getIntVolatile", int.class, Object.class, long.class);
+	private static final MethodHandle GET_LONG_VOLATILE = find("getLongVolatile", long.class, Object.class, long.class);
+	private static final MethodHandle GET_BOOLEAN_VOLATILE =
+			find("getBooleanVolatile", boolean.class, Object.class, long.class);
+	private static final MethodHandle GET_BYTE_VOLATILE = find("getByteVolatile", byte.class, Object.class, long.class);
+	private static final MethodHandle GET_SHORT_VOLATILE = find("getShortVolatile", short.class, Object.class, long.class);
+	private static final MethodHandle GET_CHAR_VOLATILE = find("getCharVolatile", char.class, Object.class, long.class);
+	private static final MethodHandle GET_FLOAT_VOLATILE = find("getFloatVolatile", float.class, Object.class, long.class);
+	private static final MethodHandle GET_DOUBLE_VOLATILE =
+			find("getDoubleVolatile", double.class, Object.class, long.class);
+	private static final MethodHandle GET_OBJECT_VOLATILE =
+			find("getObjectVolatile", Object.class, Object.class, long.class);
+
+	private static final MethodHandle PUT_INT_VOLATILE =
+			find("putIntVolatile", void.class, Object.class, long.class, int.class);
+	private static final MethodHandle PUT_LONG_VOLATILE =
+			find("putLongVolatile", void.class, Object.class, long.class, long.class);
+	private static final MethodHandle PUT_BOOLEAN_VOLATILE =
+			find("putBooleanVolatile", void.class, Object.class, long.class, boolean.class);
+	private static final MethodHandle PUT_BYTE_VOLATILE =
+			find("putByteVolatile", void.class, Object.class, long.class, byte.class);
+	private static final MethodHandle PUT_SHORT_VOLATILE =
+			find("putShortVolatile", void.class, Object.class, long.class, short.class);
+	private static final MethodHandle PUT_CHAR_VOLATILE =
+			find("putCharVolatile", void.class, Object.class, long.class, char.class);
+	private static final MethodHandle PUT_FLOAT_VOLATILE =
+			find("putFloatVolatile", void.class, Object.class, long.class, float.class);
+	private static final MethodHandle PUT_DOUBLE_VOLATILE =
+			find("putDoubleVolatile", void.class, Object.class, long.class, double.class);
+	private static final MethodHandle PUT_OBJECT_VOLATILE =
+			find("putObjectVolatile", void.class, Object.class, long.class, Object.class);
+
+	private static final MethodHandle PUT_ORDERED_INT = find("putOrderedInt", void.class, Object.class, long.class, int.class);
+	private static final MethodHandle PUT_ORDERED_LONG =
+			find("putOrderedLong", void.class, Object.class, long.class, long.class);
+	private static final MethodHandle PUT_ORDERED_OBJECT =
+			find("putOrderedObject", void.class, Object.class, long.class, Object.class);
+
+	private static final MethodHandle COMPARE_AND_SWAP_INT =
+			find("compareAndSwapInt", boolean.class, Object.class, long.class, int.class, int.class);
+	private static final MethodHandle COMPARE_AND_SWAP_LONG =
+			find("compareAndSwapLong", boolean.class, Object.class, long.class, long.class, long.class);
+	private static final MethodHandle COMPARE_AND_SWAP_OBJECT =
+			find("compareAndSwapObject", boolean.class, Object.class, long.class, Object.class, Object.class);
+
+	private static final MethodHandle GET_AND_SET_INT = find("getAndSetInt", int.class, Object.class, long.class, int.class);
+	private static final MethodHandle GET_AND_SET_LONG =
+			find("getAndSetLong", long.class, Object.class, long.class, long.class);
+	private static final MethodHandle GET_AND_SET_OBJECT =
+			find("getAndSetObject", Object.class, Object.class, long.class, Object.class);
+	private static final MethodHandle GET_AND_ADD_INT = find("getAndAddInt", int.class, Object.class, long.class, int.class);
+	private static final MethodHandle GET_AND_ADD_LONG =
+			find("getAndAddLong", long.class, Object.class, long.class, long.class);
+
+	private final Field field;
+	private final Class<?> type;
+	private final Object base;
+	private final long offset;
+
+	FieldAtomics(Field field) {
+		if (UNSAFE == null) {
+			throw new UnsupportedOperationException("Atomic field access is not available");
+		}
+		this.field = field;
+		type = field.getType();
+		try {
+			if (Modifier.isStatic(field.getModifiers())) {
+				ENSURE_CLASS_INITIALIZED.invokeExact(field.getDeclaringClass());
+				base = (Object) STATIC_FIELD_BASE.invokeExact(field);
+				offset = (long) STATIC_FIELD_OFFSET.invokeExact(field);
+			} else {
+				base = null;
+				offset = (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	Object getVolatile(Object data) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				return (int) GET_INT_VOLATILE.invokeExact(target, offset);
+			} else if (type == long.class) {
+				return (long) GET_LONG_VOLATILE.invokeExact(target, offset);
+			} else if (type == boolean.class) {
+				return (boolean) GET_BOOLEAN_VOLATILE.invokeExact(target, offset);
+			} else if (type == byte.class) {
+				return (byte) GET_BYTE_VOLATILE.invokeExact(target, offset);
+			} else if (type == short.class) {
+				return (short) GET_SHORT_VOLATILE.invokeExact(target, offset);
+			} else if (type == char.class) {
+				return (char) GET_CHAR_VOLATILE.invokeExact(target, offset);
+			} else if (type == float.class) {
+				return (float) GET_FLOAT_VOLATILE.invokeExact(target, offset);
+			} else if (type == double.class) {
+				return (double) GET_DOUBLE_VOLATILE.invokeExact(target, offset);
+			}
+			return (Object) GET_OBJECT_VOLATILE.invokeExact(target, offset);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	void setVolatile(Object data, Object value) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				PUT_INT_VOLATILE.invokeExact(target, offset, (int) (Integer) value);
+			} else if (type == long.class) {
+				PUT_LONG_VOLATILE.invokeExact(target, offset, (long) (Long) value);
+			} else if (type == boolean.class) {
+				PUT_BOOLEAN_VOLATILE.invokeExact(target, offset, (boolean) (Boolean) value);
+			} else if (type == byte.class) {
+				PUT_BYTE_VOLATILE.invokeExact(target, offset, (byte) (Byte) value);
+			} else if (type == short.class) {
+				PUT_SHORT_VOLATILE.invokeExact(target, offset, (short) (Short) value);
+			} else if (type == char.class) {
+				PUT_CHAR_VOLATILE.invokeExact(target, offset, (char) (Character) value);
+			} else if (type == float.class) {
+				PUT_FLOAT_VOLATILE.invokeExact(target, offset, (float) (Float) value);
+			} else if (type == double.class) {
+				PUT_DOUBLE_VOLATILE.invokeExact(target, offset, (double) (Double) value);
+			} else {
+				PUT_OBJECT_VOLATILE.invokeExact(target, offset, type.cast(value));
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	Object getOpaque(Object data) {
+		return getVolatile(data);
+	}
+
+	void setRelease(Object data, Object value) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				PUT_ORDERED_INT.invokeExact(target, offset, (int) (Integer) value);
+			} else if (type == long.class) {
+				PUT_ORDERED_LONG.invokeExact(target, offset, (long) (Long) value);
+			} else if (!type.isPrimitive()) {
+				PUT_ORDERED_OBJECT.invokeExact(target, offset, type.cast(value));
+			} else {
+				setVolatile(data, value);
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	boolean compareAndSet(Object data, Object expected, Object value) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				return (boolean) COMPARE_AND_SWAP_INT.invokeExact(target, offset, (int) (Integer) expected,
+						(int) (Integer) value);
+			} else if (type == long.class) {
+				return (boolean) COMPARE_AND_SWAP_LONG.invokeExact(target, offset, (long) (Long) expected,
+						(long) (Long) value);
+			} else if (type == float.class) {
+				return (boolean) COMPARE_AND_SWAP_INT.invokeExact(target, offset,
+						Float.floatToRawIntBits((Float) expected), Float.floatToRawIntBits((Float) value));
+			} else if (type == double.class) {
+				return (boolean) COMPARE_AND_SWAP_LONG.invokeExact(target, offset,
+						Double.doubleToRawLongBits((Double) expected), Double.doubleToRawLongBits((Double) value));
+			} else if (!type.isPrimitive()) {
+				return (boolean) COMPARE_AND_SWAP_OBJECT.invokeExact(target, offset, expected, type.cast(value));
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+		throw unsupported("compareAndSet");
+	}
+
+	Object getAndSet(Object data, Object value) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				return (int) GET_AND_SET_INT.invokeExact(target, offset, (int) (Integer) value);
+			} else if (type == long.class) {
+				return (long) GET_AND_SET_LONG.invokeExact(target, offset, (long) (Long) value);
+			} else if (type == float.class) {
+				int bits = (int) GET_AND_SET_INT.invokeExact(target, offset, Float.floatToRawIntBits((Float) value));
+				return Float.intBitsToFloat(bits);
+			} else if (type == double.class) {
+				long bits = (long) GET_AND_SET_LONG.invokeExact(target, offset,
+						Double.doubleToRawLongBits((Double) value));
+				return Double.longBitsToDouble(bits);
+			} else if (!type.isPrimitive()) {
+				return (Object) GET_AND_SET_OBJECT.invokeExact(target, offset, type.cast(value));
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+		throw unsupported("getAndSet");
+	}
+
+	Object getAndAdd(Object data, Object delta) {
+		Object target = target(data);
+		try {
+			if (type == int.class) {
+				return (int) GET_AND_ADD_INT.invokeExact(target, offset, (int) (Integer) delta);
+			} else if (type == long.class) {
+				return (long) GET_AND_ADD_LONG.invokeExact(target, offset, (long) (Long) delta);
+			} else if (type == float.class) {
+				while (true) {
+					int current = (int) GET_INT_VOLATILE.invokeExact(target, offset);
+					float value = Float.intBitsToFloat(current);
+					int next = Float.floatToRawIntBits(value + (Float) delta);
+					if ((boolean) COMPARE_AND_SWAP_INT.invokeExact(target, offset, current, next)) {
+						return value;
+					}
+				}
+			} else if (type == double.class) {
+				while (true) {
+					long current = (long) GET_LONG_VOLATILE.invokeExact(target, offset);
+					double value = Double.longBitsToDouble(current);
+					long next = Double.doubleToRawLongBits(value + (Double) delta);
+					if ((boolean) COMPARE_AND_SWAP_LONG.invokeExact(target, offset, current, next)) {
+						return value;
+					}
+				}
+			}
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+		throw unsupported("getAndAdd");
+	}
+
+	private Object target(Object data) {
+		if (base != null) {
+			return base;
+		}
+		if (!field.getDeclaringClass().isInstance(data)) {
+			throw new IllegalArgumentException("Not an instance of " + field.getDeclaringClass().getName() + ": " + data);
+		}
+		return data;
+	}
+
+	private UnsupportedOperationException unsupported(String operation) {
+		return new UnsupportedOperationException(operation + " is not supported for " + type.getName() + " fields");
+	}
+
+	private static Object findUnsafe() {
+		try {
+			Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			return field.get(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle find(String name, Class<?> returnType, Class<?>... parameterTypes) {
+		if (UNSAFE == null) {
+			return null;
+		}
+		try {
+			MethodType type = MethodType.methodType(returnType, parameterTypes);
+			return MethodHandles.lookup().findVirtual(UNSAFE.getClass(), name, type).bindTo(UNSAFE);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+}
@@ -25,17 +25,24 @@
  */
 package ru.reflexio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
 abstract class FieldReflection extends MemberReflection<Field> implements IFieldReflection {
 	
-	FieldReflection(Field field) {
-		super(field);
+	private final Lazy<MethodHandle> directGetter = new Lazy<>(() -> unreflect(MethodHandles.Lookup::unreflectGetter));
+	private final Lazy<MethodHandle> directSetter = new Lazy<>(() -> unreflect(MethodHandles.Lookup::unreflectSetter));
+	private final Lazy<MethodHandle> getter = new Lazy<>(this::resolveGetter);
+	private final Lazy<MethodHandle> setter = new Lazy<>(this::resolveSetter);
+	private final Lazy<FieldAtomics> atomics = new Lazy<>(() -> new FieldAtomics(getElement()));
+
+	FieldReflection(Field field, InvocationBackend backend) {
+		super(field, backend);
 	}
 
 	@Override
@@ -49,40 +56,173 @@ abstract class FieldReflection extends MemberReflection<Field> implements IField
 	}
 
 	Object getValue(Object data) {
-		return forceAccess(() -> {
+		int index = getGeneratedIndex();
+		if (index >= 0) {
+			return getGenerated().getValue(index, data);
+		}
+		if (getBackend() == InvocationBackend.MethodHandle) {
 			try {
-				return getElement().get(data);
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException(e);
+				return (Object) getter.get().invokeExact(data);
+			} catch (Throwable e) {
+				throw rethrow(e);
 			}
-		});
+		}
+		ensureAccess();
+		try {
+			return getElement().get(data);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	void setValue(Object data, Object value) {
-		forceAccess(() -> {
+		int index = getGeneratedIndex();
+		if (index >= 0 && !isFinal()) {
+			getGenerated().setValue(index, data, value);
+			return;
+		}
+		if (getBackend() == InvocationBackend.MethodHandle) {
 			try {
-				getElement().set(data, value);
-				return null;
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException(e);
+				setter.get().invokeExact(data, value);
+				return;
+			} catch (Throwable e) {
+				throw rethrow(e);
 			}
-		});
+		}
+		ensureAccess();
+		try {
+			getElement().set(data, value);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	Object getVolatile(Object data) {
+		return atomics.get().getVolatile(data);
+	}
+
+	void setVolatile(Object data, Object value) {
+		writableAtomics().setVolatile(data, coerce(value));
+	}
+
+	Object getOpaque(Object data) {
+		return atomics.get().getOpaque(data);
+	}
+
+	void setRelease(Object data, Object value) {
+		writableAtomics().setRelease(data, coerce(value));
+	}
+
+	boolean compareAndSet(Object data, Object expected, Object value) {
+		return wordAtomics("compareAndSet").compareAndSet(data, coerce(expected), coerce(value));
+	}
+
+	Object getAndSet(Object data, Object value) {
+		return wordAtomics("getAndSet").getAndSet(data, coerce(value));
+	}
+
+	Object getAndAdd(Object data, Object delta) {
+		if (!(delta instanceof Number)) {
+			throw new IllegalArgumentException("Not a number: " + delta);
+		}
+		return wordAtomics("getAndAdd").getAndAdd(data, coerce(delta));
+	}
+
+	private FieldAtomics writableAtomics() {
+		if (isFinal()) {
+			throw new UnsupportedOperationException("Cannot write final field " + getElement());
+		}
+		return atomics.get();
+	}
+
+	private FieldAtomics wordAtomics(String operation) {
+		Class<?> type = getType();
+		if (type == boolean.class || type == byte.class || type == short.class || type == char.class) {
+			throw new UnsupportedOperationException(operation + " is not supported for " + type.getName() + " fields");
+		}
+		return writableAtomics();
+	}
+
+	private Object coerce(Object value) {
+		if (!(value instanceof Number)) {
+			return value;
+		}
+		Number number = (Number) value;
+		Class<?> type = getType();
+		if (type == int.class) {
+			return number.intValue();
+		} else if (type == long.class) {
+			return number.longValue();
+		} else if (type == double.class) {
+			return number.doubleValue();
+		} else if (type == float.class) {
+			return number.floatValue();
+		} else if (type == short.class) {
+			return number.shortValue();
+		} else if (type == byte.class) {
+			return number.byteValue();
+		}
+		return value;
 	}
 
 	@Override
-	public List<ITypeReflection<?>> getGenericClasses() {
-		Type t = getElement().getGenericType();
-		if (t instanceof ParameterizedType) {
-			Type[] types = ((ParameterizedType) t).getActualTypeArguments();
-			List<ITypeReflection<?>> result = new ArrayList<>();
-			for (Type type : types) {
-				if (type instanceof Class) {
-					result.add(new TypeReflection<>((Class<?>) type));
-				}
+	void prepare() {
+		super.prepare();
+		if (getGeneratedIndex() < 0 && getBackend() == InvocationBackend.MethodHandle) {
+			getter.get();
+			if (!isFinal()) {
+				setter.get();
 			}
-			return result;
 		}
-		return new ArrayList<>();
+	}
+
+	@Override
+	int findGenerated(GeneratedReflection<?> reflection) {
+		return reflection.findField(getName());
+	}
+
+	MethodHandle getDirectGetter() {
+		return directGetter.get();
+	}
+
+	MethodHandle getDirectSetter() {
+		return directSetter.get();
+	}
+
+	private MethodHandle resolveGetter() {
+		MethodHandle handle = getDirectGetter();
+		if (isStatic()) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(MethodType.methodType(Object.class, Object.class));
+	}
+
+	private MethodHandle resolveSetter() {
+		MethodHandle handle = getDirectSetter();
+		if (isStatic()) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+	}
+
+	@Override
+	public List<ITypeReflection<?>> getGenericClasses() {
+		List<ITypeReflection<?>> result = new ArrayList<>();
+		for (IGenericTypeReflection type : getGenericType().getTypeArguments()) {
+			result.add(type.toReflection());
+		}
+		return result;
+	}
+
+	@Override
+	public IGenericTypeReflection getGenericType() {
+		return getGenericType(getElement().getDeclaringClass());
+	}
+
+	@Override
+	public IGenericTypeReflection getGenericType(Class<?> owner) {
+		return GenericTypeReflection.of(getElement().getGenericType(), getElement().getDeclaringClass(), owner,
+				getBackend());
 	}
 
 	@Override
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.Optional;
+
+public abstract class GeneratedReflection<T> {
+
+	public static final String SUFFIX = "$$Reflection";
+
+	private static final ClassValue<Optional<GeneratedReflection<?>>> REGISTRY = new ClassValue<Optional<GeneratedReflection<?>>>() {
+
+		@Override
+		protected Optional<GeneratedReflection<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(load(type));
+		}
+
+	};
+
+	static GeneratedReflection<?> find(Class<?> type) {
+		return REGISTRY.get(type).orElse(null);
+	}
+
+	private static GeneratedReflection<?> load(Class<?> type) {
+		ClassLoader loader = type.getClassLoader();
+		if (loader == null || !type.isAnnotationPresent(Reflected.class)) {
+			return null;
+		}
+		try {
+			Class<?> generated = Class.forName(type.getName() + SUFFIX, true, loader);
+			if (!GeneratedReflection.class.isAssignableFrom(generated)) {
+				return null;
+			}
+			GeneratedReflection<?> result = (GeneratedReflection<?>) generated.getConstructor().newInstance();
+			return result.getType() == type ? result : null;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public abstract Class<T> getType();
+
+	public abstract int findField(String name);
+
+	public abstract Object getValue(int field, Object target);
+
+	public abstract void setValue(int field, Object target, Object value);
+
+	public abstract int findConstructor(String signature);
+
+	public abstract T newInstance(int constructor, Object[] args) throws Throwable;
+
+	public abstract int findMethod(String signature);
+
+	public abstract Object invoke(int method, Object target, Object[] args) throws Throwable;
+
+	protected static boolean toBoolean(Object value) {
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		throw mismatch(value, boolean.class);
+	}
+
+	protected static char toChar(Object value) {
+		if (value instanceof Character) {
+			return (Character) value;
+		}
+		throw mismatch(value, char.class);
+	}
+
+	protected static byte toByte(Object value) {
+		if (value instanceof Byte) {
+			return (Byte) value;
+		}
+		throw mismatch(value, byte.class);
+	}
+
+	protected static short toShort(Object value) {
+		if (value instanceof Short || value instanceof Byte) {
+			return ((Number) value).shortValue();
+		}
+		throw mismatch(value, short.class);
+	}
+
+	protected static int toInt(Object value) {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).intValue();
+		} else if (value instanceof Character) {
+			return (Character) value;
+		}
+		throw mismatch(value, int.class);
+	}
+
+	protected static long toLong(Object value) {
+		if (value instanceof Long) {
+			return (Long) value;
+		}
+		return toIntegral(value, long.class);
+	}
+
+	protected static float toFloat(Object value) {
+		if (value instanceof Float) {
+			return (Float) value;
+		} else if (value instanceof Long) {
+			return (Long) value;
+		}
+		return toIntegral(value, float.class);
+	}
+
+	protected static double toDouble(Object value) {
+		if (value instanceof Double || value instanceof Float || value instanceof Long) {
+			return ((Number) value).doubleValue();
+		}
+		return toIntegral(value, double.class);
+	}
+
+	private static int toIntegral(Object value, Class<?> type) {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).intValue();
+		} else if (value instanceof Character) {
+			return (Character) value;
+		}
+		throw mismatch(value, type);
+	}
+
+	private static IllegalArgumentException mismatch(Object value, Class<?> type) {
+		String actual = value == null ? "null" : value.getClass().getName();
+		return new IllegalArgumentException("Cannot convert " + actual + " to " + type.getName());
+	}
+
+}
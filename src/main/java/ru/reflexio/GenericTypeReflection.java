@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class GenericTypeReflection implements IGenericTypeReflection {
+
+	private final Kind kind;
+	private final Class<?> rawType;
+	private final String name;
+	private final InvocationBackend backend;
+	private final List<IGenericTypeReflection> typeArguments;
+	private final IGenericTypeReflection componentType;
+	private final Lazy<List<IGenericTypeReflection>> upperBounds;
+	private final List<IGenericTypeReflection> lowerBounds;
+	private final boolean resolved;
+
+	private GenericTypeReflection(Kind kind, Class<?> rawType, String name, InvocationBackend backend,
+			List<IGenericTypeReflection> typeArguments, IGenericTypeReflection componentType,
+			Lazy<List<IGenericTypeReflection>> upperBounds, List<IGenericTypeReflection> lowerBounds,
+			boolean resolved) {
+		this.kind = kind;
+		this.rawType = rawType;
+		this.name = name;
+		this.backend = backend;
+		this.typeArguments = typeArguments;
+		this.componentType = componentType;
+		this.upperBounds = upperBounds;
+		this.lowerBounds = lowerBounds;
+		this.resolved = resolved;
+	}
+
+	static IGenericTypeReflection of(Type type, Class<?> declaringClass, Class<?> owner, InvocationBackend backend) {
+		if (owner == null || !declaringClass.isAssignableFrom(owner)) {
+			throw new IllegalArgumentException();
+		}
+		return TypeMetadata.of(owner, backend).getGenericType(type);
+	}
+
+	static Map<TypeVariable<?>, IGenericTypeReflection> bind(Class<?> type, InvocationBackend backend) {
+		Map<TypeVariable<?>, IGenericTypeReflection> result = new HashMap<>();
+		bind(type, result, backend);
+		return Collections.unmodifiableMap(result);
+	}
+
+	static IGenericTypeReflection resolve(Type type, Map<TypeVariable<?>, IGenericTypeReflection> bindings,
+			InvocationBackend backend) {
+		if (type instanceof Class) {
+			Class<?> cls = (Class<?>) type;
+			if (cls.isArray()) {
+				IGenericTypeReflection component = resolve(cls.getComponentType(), bindings, backend);
+				return array(cls, component, backend);
+			}
+			return plain(cls, backend);
+		}
+		if (type instanceof ParameterizedType) {
+			ParameterizedType parameterized = (ParameterizedType) type;
+			List<IGenericTypeReflection> arguments = resolveAll(parameterized.getActualTypeArguments(), bindings, backend);
+			return parameterized((Class<?>) parameterized.getRawType(), arguments, backend);
+		}
+		if (type instanceof GenericArrayType) {
+			Type component = ((GenericArrayType) type).getGenericComponentType();
+			IGenericTypeReflection resolvedComponent = resolve(component, bindings, backend);
+			Class<?> cls = Array.newInstance(resolvedComponent.getRawType(), 0).getClass();
+			return array(cls, resolvedComponent, backend);
+		}
+		if (type instanceof WildcardType) {
+			WildcardType wildcard = (WildcardType) type;
+			List<IGenericTypeReflection> upper = resolveAll(wildcard.getUpperBounds(), bindings, backend);
+			List<IGenericTypeReflection> lower = resolveAll(wildcard.getLowerBounds(), bindings, backend);
+			Class<?> cls = upper.isEmpty() ? Object.class : upper.get(0).getRawType();
+			boolean resolved = allResolved(upper) && allResolved(lower);
+			return new GenericTypeReflection(Kind.Wildcard, cls, null, backend, Collections.emptyList(), null,
+					new Lazy<>(() -> upper), lower, resolved);
+		}
+		if (type instanceof TypeVariable) {
+			TypeVariable<?> variable = (TypeVariable<?>) type;
+			IGenericTypeReflection bound = bindings.get(variable);
+			if (bound != null) {
+				return bound;
+			}
+			return new GenericTypeReflection(Kind.Variable, erase(variable), variable.getName(), backend,
+					Collections.emptyList(), null, new Lazy<>(() -> resolveAll(variable.getBounds(), bindings, backend)),
+					Collections.emptyList(), false);
+		}
+		throw new IllegalArgumentException("Unsupported type: " + type);
+	}
+
+	private static IGenericTypeReflection plain(Class<?> type, InvocationBackend backend) {
+		return new GenericTypeReflection(Kind.Plain, type, null, backend, Collections.emptyList(), null,
+				new Lazy<>(Collections::emptyList), Collections.emptyList(), true);
+	}
+
+	private static IGenericTypeReflection array(Class<?> type, IGenericTypeReflection component,
+			InvocationBackend backend) {
+		return new GenericTypeReflection(Kind.Array, type, null, backend, Collections.emptyList(), component,
+				new Lazy<>(Collections::emptyList), Collections.emptyList(), component.isResolved());
+	}
+
+	private static IGenericTypeReflection parameterized(Class<?> type, List<IGenericTypeReflection> arguments,
+			InvocationBackend backend) {
+		return new GenericTypeReflection(Kind.Parameterized, type, null, backend, arguments, null,
+				new Lazy<>(Collections::emptyList), Collections.emptyList(), allResolved(arguments));
+	}
+
+	private static void bind(Class<?> type, Map<TypeVariable<?>, IGenericTypeReflection> bindings,
+			InvocationBackend backend) {
+		Type superclass = type.getGenericSuperclass();
+		if (superclass != null) {
+			bindSupertype(superclass, bindings, backend);
+		}
+		for (Type superinterface : type.getGenericInterfaces()) {
+			bindSupertype(superinterface, bindings, backend);
+		}
+	}
+
+	private static void bindSupertype(Type supertype, Map<TypeVariable<?>, IGenericTypeReflection> bindings,
+			InvocationBackend backend) {
+		if (supertype instanceof ParameterizedType) {
+			ParameterizedType parameterized = (ParameterizedType) supertype;
+			Class<?> raw = (Class<?>) parameterized.getRawType();
+			TypeVariable<?>[] variables = raw.getTypeParameters();
+			Type[] arguments = parameterized.getActualTypeArguments();
+			for (int i = 0; i < variables.length; i++) {
+				if (!bindings.containsKey(variables[i])) {
+					bindings.put(variables[i], resolve(arguments[i], bindings, backend));
+				}
+			}
+			bind(raw, bindings, backend);
+		} else if (supertype instanceof Class) {
+			bind((Class<?>) supertype, bindings, backend);
+		}
+	}
+
+	private static List<IGenericTypeReflection> resolveAll(Type[] types,
+			Map<TypeVariable<?>, IGenericTypeReflection> bindings, InvocationBackend backend) {
+		if (types.length == 0) {
+			return Collections.emptyList();
+		}
+		List<IGenericTypeReflection> result = new ArrayList<>(types.length);
+		for (Type type : types) {
+			result.add(resolve(type, bindings, backend));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static boolean allResolved(List<IGenericTypeReflection> types) {
+		for (IGenericTypeReflection type : types) {
+			if (!type.isResolved()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> erase(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		}
+		if (type instanceof GenericArrayType) {
+			return Array.newInstance(erase(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		}
+		if (type instanceof WildcardType) {
+			Type[] bounds = ((WildcardType) type).getUpperBounds();
+			return bounds.length == 0 ? Object.class : erase(bounds[0]);
+		}
+		if (type instanceof TypeVariable) {
+			Type[] bounds = ((TypeVariable<?>) type).getBounds();
+			return bounds.length == 0 ? Object.class : erase(bounds[0]);
+		}
+		return Object.class;
+	}
+
+	@Override
+	public Kind getKind() {
+		return kind;
+	}
+
+	@Override
+	public Class<?> getRawType() {
+		return rawType;
+	}
+
+	@Override
+	public String getTypeName() {
+		switch (kind) {
+			case Parameterized:
+				StringBuilder result = new StringBuilder(rawType.getTypeName()).append('<');
+				appendAll(result, typeArguments, ", ");
+				return result.append('>').toString();
+			case Array:
+				return componentType.getTypeName() + "[]";
+			case Wildcard:
+				return wildcardName();
+			case Variable:
+				return name;
+			default:
+				return rawType.getTypeName();
+		}
+	}
+
+	private String wildcardName() {
+		StringBuilder result = new StringBuilder("?");
+		if (!lowerBounds.isEmpty()) {
+			appendAll(result.append(" super "), lowerBounds, " & ");
+		} else {
+			List<IGenericTypeReflection> upper = upperBounds.get();
+			if (!upper.isEmpty() && !(upper.size() == 1 && upper.get(0).getRawType() == Object.class)) {
+				appendAll(result.append(" extends "), upper, " & ");
+			}
+		}
+		return result.toString();
+	}
+
+	private static void appendAll(StringBuilder builder, List<IGenericTypeReflection> types, String separator) {
+		for (int i = 0; i < types.size(); i++) {
+			if (i > 0) {
+				builder.append(separator);
+			}
+			builder.append(types.get(i).getTypeName());
+		}
+	}
+
+	@Override
+	public List<IGenericTypeReflection> getTypeArguments() {
+		return typeArguments;
+	}
+
+	@Override
+	public IGenericTypeReflection getComponentType() {
+		return componentType;
+	}
+
+	@Override
+	public List<IGenericTypeReflection> getUpperBounds() {
+		return upperBounds.get();
+	}
+
+	@Override
+	public List<IGenericTypeReflection> getLowerBounds() {
+		return lowerBounds;
+	}
+
+	@Override
+	public boolean isResolved() {
+		return resolved;
+	}
+
+	@Override
+	public IGenericTypeReflection findSupertype(Class<?> supertype) {
+		if (supertype == null) {
+			throw new IllegalArgumentException();
+		}
+		if (!supertype.isAssignableFrom(rawType)) {
+			return null;
+		}
+		if (supertype == rawType && kind != Kind.Wildcard && kind != Kind.Variable) {
+			return this;
+		}
+		TypeVariable<?>[] variables = supertype.getTypeParameters();
+		if (variables.length == 0) {
+			return plain(supertype, backend);
+		}
+		Map<TypeVariable<?>, IGenericTypeReflection> bindings = bindings();
+		List<IGenericTypeReflection> arguments = new ArrayList<>(variables.length);
+		for (TypeVariable<?> variable : variables) {
+			arguments.add(resolve(variable, bindings, backend));
+		}
+		return parameterized(supertype, Collections.unmodifiableList(arguments), backend);
+	}
+
+	IGenericTypeReflection resolveMember(Type type) {
+		return resolve(type, bindings(), backend);
+	}
+
+	private Map<TypeVariable<?>, IGenericTypeReflection> bindings() {
+		Map<TypeVariable<?>, IGenericTypeReflection> result = new HashMap<>();
+		if (kind == Kind.Parameterized) {
+			TypeVariable<?>[] own = rawType.getTypeParameters();
+			for (int i = 0; i < own.length; i++) {
+				result.put(own[i], typeArguments.get(i));
+			}
+		}
+		bind(rawType, result, backend);
+		return result;
+	}
+
+	@Override
+	public ITypeReflection<?> toReflection() {
+		return TypeMetadata.of(rawType, backend).getReflection();
+	}
+
+	@Override
+	public String toString() {
+		return getTypeName();
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+final class HierarchySpliterator<R> implements Spliterator<R> {
+
+	private static final int CHARACTERISTICS = ORDERED | NONNULL | IMMUTABLE;
+
+	private final TypeMetadata[] chain;
+	private final Function<TypeMetadata, List<R>> level;
+	private int index;
+	private final int end;
+	private Iterator<R> current;
+
+	HierarchySpliterator(TypeMetadata[] chain, Function<TypeMetadata, List<R>> level) {
+		this(chain, level, 0, chain.length);
+	}
+
+	private HierarchySpliterator(TypeMetadata[] chain, Function<TypeMetadata, List<R>> level, int index, int end) {
+		this.chain = chain;
+		this.level = level;
+		this.index = index;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super R> action) {
+		while (current == null || !current.hasNext()) {
+			if (index >= end) {
+				return false;
+			}
+			current = level.apply(chain[index++]).iterator();
+		}
+		action.accept(current.next());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super R> action) {
+		if (current != null) {
+			current.forEachRemaining(action);
+			current = null;
+		}
+		while (index < end) {
+			level.apply(chain[index++]).forEach(action);
+		}
+	}
+
+	@Override
+	public Spliterator<R> trySplit() {
+		if (current != null || end - index < 2) {
+			return null;
+		}
+		int middle = (index + end) >>> 1;
+		Spliterator<R> prefix = new HierarchySpliterator<>(chain, level, index, middle);
+		index = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+
+}
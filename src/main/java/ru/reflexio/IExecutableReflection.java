@@ -31,6 +31,10 @@ public interface IExecutableReflection extends IMemberReflection {
 
     List<IParameterReflection> getParameters();
 
+    int getParameterCount();
+
+    boolean isVarArgs();
+
     boolean canInvoke(Class<?>... types);
 
 }
@@ -35,6 +35,10 @@ public interface IFieldReflection extends IMemberReflection {
 
     List<ITypeReflection<?>> getGenericClasses();
 
+    IGenericTypeReflection getGenericType();
+
+    IGenericTypeReflection getGenericType(Class<?> owner);
+
     IMethodReflection getGetter();
 
     IMethodReflection getSetter();
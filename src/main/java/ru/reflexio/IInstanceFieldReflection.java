@@ -25,14 +25,58 @@
  */
 package ru.reflexio;
 
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 public interface IInstanceFieldReflection extends IFieldReflection {
 
     Object getValue(Object data);
 
     void setValue(Object data, Object value);
 
+    Object getVolatile(Object data);
+
+    void setVolatile(Object data, Object value);
+
+    Object getOpaque(Object data);
+
+    void setRelease(Object data, Object value);
+
+    boolean compareAndSet(Object data, Object expected, Object value);
+
+    Object getAndSet(Object data, Object value);
+
+    Object getAndAdd(Object data, Object delta);
+
     IInstanceMethodReflection getGetter();
 
     IInstanceMethodReflection getSetter();
 
+    <T, V> Function<T, V> compileGetter();
+
+    <T> Predicate<T> compileBooleanGetter();
+
+    <T> ToIntFunction<T> compileIntGetter();
+
+    <T> ToLongFunction<T> compileLongGetter();
+
+    <T> ToDoubleFunction<T> compileDoubleGetter();
+
+    <T, V> BiConsumer<T, V> compileSetter();
+
+    <T> ObjBooleanConsumer<T> compileBooleanSetter();
+
+    <T> ObjIntConsumer<T> compileIntSetter();
+
+    <T> ObjLongConsumer<T> compileLongSetter();
+
+    <T> ObjDoubleConsumer<T> compileDoubleSetter();
+
 }
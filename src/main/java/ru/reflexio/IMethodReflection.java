@@ -39,4 +39,8 @@ public interface IMethodReflection extends IExecutableReflection {
 
     boolean isSetter();
 
+    IGenericTypeReflection getGenericReturnType();
+
+    IGenericTypeReflection getGenericReturnType(Class<?> owner);
+
 }
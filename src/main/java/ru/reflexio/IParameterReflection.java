@@ -29,4 +29,8 @@ public interface IParameterReflection extends IReflection {
 
     boolean isFinal();
 
+    IGenericTypeReflection getGenericType();
+
+    IGenericTypeReflection getGenericType(Class<?> owner);
+
 }
@@ -31,6 +31,20 @@ public interface IStaticFieldReflection extends IFieldReflection {
 
     void setValue(Object value);
 
+    Object getVolatile();
+
+    void setVolatile(Object value);
+
+    Object getOpaque();
+
+    void setRelease(Object value);
+
+    boolean compareAndSet(Object expected, Object value);
+
+    Object getAndSet(Object value);
+
+    Object getAndAdd(Object delta);
+
     IStaticMethodReflection getGetter();
 
     IStaticMethodReflection getSetter();
@@ -25,7 +25,9 @@
  */
 package ru.reflexio;
 
+import java.lang.annotation.Annotation;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ITypeReflection<T> extends IReflection {
 
@@ -41,6 +43,8 @@ public interface ITypeReflection<T> extends IReflection {
 
     List<ITypeReflection<?>> getTypeHierarchy();
 
+    List<ITypeReflection<?>> getLinearization();
+
     List<IStaticMethodReflection> getStaticTypeMethods();
 
     List<IInstanceMethodReflection> getInstanceTypeMethods();
@@ -57,6 +61,16 @@ public interface ITypeReflection<T> extends IReflection {
 
     List<IInstanceFieldReflection> getInstanceFields();
 
+    Stream<ITypeReflection<?>> streamTypeHierarchy();
+
+    Stream<IStaticMethodReflection> streamStaticMethods();
+
+    Stream<IInstanceMethodReflection> streamInstanceMethods();
+
+    Stream<IStaticFieldReflection> streamStaticFields();
+
+    Stream<IInstanceFieldReflection> streamInstanceFields();
+
     IStaticFieldReflection findStaticField(String fieldName);
 
     IInstanceFieldReflection findInstanceField(String fieldName);
@@ -65,4 +79,28 @@ public interface ITypeReflection<T> extends IReflection {
 
     IStaticMethodReflection findStaticMethod(String methodName);
 
+    List<IInstanceMethodReflection> getVirtualMethods();
+
+    IInstanceMethodReflection findVirtualMethod(String methodName, Class<?>... parameterTypes);
+
+    int findVirtualSlot(String methodName, Class<?>... parameterTypes);
+
+    IInstanceMethodReflection getVirtualMethod(int slot);
+
+    Object invokeVirtual(int slot, Object data, Object... args);
+
+    List<IPropertyReflection> getProperties();
+
+    IPropertyReflection findProperty(String propertyName);
+
+    IPropertyPathReflection compilePropertyPath(String path);
+
+    List<IFieldReflection> getAnnotatedFields(Class<? extends Annotation> annotationType);
+
+    List<IMethodReflection> getAnnotatedMethods(Class<? extends Annotation> annotationType);
+
+    List<IConstructorReflection<T>> getAnnotatedConstructors(Class<? extends Annotation> annotationType);
+
+    List<IParameterReflection> getAnnotatedParameters(Class<? extends Annotation> annotationType);
+
 }
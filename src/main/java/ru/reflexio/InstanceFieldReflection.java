@@ -25,13 +25,26 @@
  */
 package ru.reflexio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 class InstanceFieldReflection extends FieldReflection implements IInstanceFieldReflection {
 
-    InstanceFieldReflection(Field field) {
-        super(field);
+    InstanceFieldReflection(Field field, InvocationBackend backend) {
+        super(field, backend);
         if (isStatic()) {
             throw new IllegalArgumentException();
         }
@@ -47,22 +60,214 @@ class InstanceFieldReflection extends FieldReflection implements IInstanceFieldR
         super.setValue(data, value);
     }
 
+    @Override
+    public Object getVolatile(Object data) {
+        return super.getVolatile(data);
+    }
+
+    @Override
+    public void setVolatile(Object data, Object value) {
+        super.setVolatile(data, value);
+    }
+
+    @Override
+    public Object getOpaque(Object data) {
+        return super.getOpaque(data);
+    }
+
+    @Override
+    public void setRelease(Object data, Object value) {
+        super.setRelease(data, value);
+    }
+
+    @Override
+    public boolean compareAndSet(Object data, Object expected, Object value) {
+        return super.compareAndSet(data, expected, value);
+    }
+
+    @Override
+    public Object getAndSet(Object data, Object value) {
+        return super.getAndSet(data, value);
+    }
+
+    @Override
+    public Object getAndAdd(Object data, Object delta) {
+        return super.getAndAdd(data, delta);
+    }
+
     @Override
     public IInstanceMethodReflection getGetter() {
+        IPropertyReflection property = findProperty();
+        if (property != null) {
+            return property.getGetter();
+        }
         try {
             Method method = getElement().getDeclaringClass().getDeclaredMethod(getGetterName());
-            return new InstanceMethodReflection(method);
+            return new InstanceMethodReflection(method, getBackend());
         } catch (NoSuchMethodException ignore) {}
         return null;
     }
 
     @Override
     public IInstanceMethodReflection getSetter() {
+        IPropertyReflection property = findProperty();
+        if (property != null) {
+            return property.getSetter();
+        }
         try {
             Method method = getElement().getDeclaringClass().getDeclaredMethod(getSetterName(), getType());
-            return new InstanceMethodReflection(method);
+            return new InstanceMethodReflection(method, getBackend());
         } catch (NoSuchMethodException ignore) {}
         return null;
     }
 
+    private IPropertyReflection findProperty() {
+        TypeMetadata metadata = TypeMetadata.of(getElement().getDeclaringClass(), getBackend());
+        IPropertyReflection property = metadata.findProperty(getName());
+        return property != null && property.getField() == this ? property : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T, V> Function<T, V> compileGetter() {
+        MethodHandle handle = getDirectGetter().asType(MethodType.methodType(Object.class, Object.class));
+        return data -> {
+            try {
+                return (V) (Object) handle.invokeExact((Object) data);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> Predicate<T> compileBooleanGetter() {
+        MethodHandle handle = adaptGetter(boolean.class);
+        return data -> {
+            try {
+                return (boolean) handle.invokeExact((Object) data);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ToIntFunction<T> compileIntGetter() {
+        MethodHandle handle = adaptGetter(int.class);
+        return data -> {
+            try {
+                return (int) handle.invokeExact((Object) data);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ToLongFunction<T> compileLongGetter() {
+        MethodHandle handle = adaptGetter(long.class);
+        return data -> {
+            try {
+                return (long) handle.invokeExact((Object) data);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ToDoubleFunction<T> compileDoubleGetter() {
+        MethodHandle handle = adaptGetter(double.class);
+        return data -> {
+            try {
+                return (double) handle.invokeExact((Object) data);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T, V> BiConsumer<T, V> compileSetter() {
+        MethodHandle handle = getDirectSetter().asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (data, value) -> {
+            try {
+                handle.invokeExact((Object) data, (Object) value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ObjBooleanConsumer<T> compileBooleanSetter() {
+        MethodHandle handle = adaptSetter(boolean.class);
+        return (data, value) -> {
+            try {
+                handle.invokeExact((Object) data, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ObjIntConsumer<T> compileIntSetter() {
+        MethodHandle handle = adaptSetter(int.class);
+        return (data, value) -> {
+            try {
+                handle.invokeExact((Object) data, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ObjLongConsumer<T> compileLongSetter() {
+        MethodHandle handle = adaptSetter(long.class);
+        return (data, value) -> {
+            try {
+                handle.invokeExact((Object) data, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    public <T> ObjDoubleConsumer<T> compileDoubleSetter() {
+        MethodHandle handle = adaptSetter(double.class);
+        return (data, value) -> {
+            try {
+                handle.invokeExact((Object) data, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private MethodHandle adaptGetter(Class<?> valueType) {
+        if (!getType().isPrimitive()) {
+            throw new IllegalArgumentException();
+        }
+        try {
+            return getDirectGetter().asType(MethodType.methodType(valueType, Object.class));
+        } catch (WrongMethodTypeException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private MethodHandle adaptSetter(Class<?> valueType) {
+        Class<?> type = getType();
+        boolean narrowInt = valueType == int.class && (type == byte.class || type == short.class || type == char.class);
+        boolean narrowDouble = valueType == double.class && type == float.class;
+        if (type != valueType && !narrowInt && !narrowDouble) {
+            throw new IllegalArgumentException();
+        }
+        MethodType methodType = MethodType.methodType(void.class, Object.class, valueType);
+        return MethodHandles.explicitCastArguments(getDirectSetter(), methodType);
+    }
+
 }
@@ -29,8 +29,8 @@ import java.lang.reflect.Method;
 
 class InstanceMethodReflection extends MethodReflection implements IInstanceMethodReflection {
 
-    InstanceMethodReflection(Method method) {
-        super(method);
+    InstanceMethodReflection(Method method, InvocationBackend backend) {
+        super(method, backend);
         if (isStatic()) {
             throw new IllegalArgumentException();
         }
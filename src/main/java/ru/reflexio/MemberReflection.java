@@ -25,16 +25,32 @@
  */
 package ru.reflexio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
-import java.util.function.Supplier;
 
 abstract class MemberReflection<T extends AccessibleObject & Member>
 		extends AnnotatedReflection<T> implements IMemberReflection {
 	
-	MemberReflection(T member) {
+	private static final int UNRESOLVED = -2;
+
+	private final InvocationBackend backend;
+	private volatile boolean accessible;
+	private GeneratedReflection<?> generated;
+	private volatile int generatedIndex = UNRESOLVED;
+
+	MemberReflection(T member, InvocationBackend backend) {
 		super(member);
+		if (backend == null) {
+			throw new IllegalArgumentException();
+		}
+		this.backend = backend;
+	}
+
+	InvocationBackend getBackend() {
+		return backend;
 	}
 
 	@Override
@@ -55,20 +71,70 @@ abstract class MemberReflection<T extends AccessibleObject & Member>
 		return getElement().getName();
 	}
 
-	<R> R forceAccess(Supplier<R> supplier) {
-		// TODO: update to canAccess
-		boolean accessible = getElement().isAccessible();
+	void ensureAccess() {
 		if (!accessible) {
-			// TODO: update to trySetAccessible
-			getElement().setAccessible(true);
+			if (!AccessSupport.makeAccessible(getElement())) {
+				Class<?> type = getElement().getDeclaringClass();
+				String name = type.getName();
+				String packageName = name.lastIndexOf('.') < 0 ? "" : name.substring(0, name.lastIndexOf('.'));
+				throw new RuntimeException("Cannot make " + getElement() + " accessible: "
+						+ AccessSupport.describeModule(type) + " does not open " + packageName + " to "
+						+ AccessSupport.describeModule(MemberReflection.class));
+			}
+			accessible = true;
+		}
+	}
+
+	void prepare() {
+		if (getGeneratedIndex() < 0 && backend == InvocationBackend.Reflection) {
+			ensureAccess();
 		}
+	}
+
+	int getGeneratedIndex() {
+		int result = generatedIndex;
+		if (result == UNRESOLVED) {
+			GeneratedReflection<?> reflection = GeneratedReflection.find(getElement().getDeclaringClass());
+			result = reflection == null ? -1 : findGenerated(reflection);
+			generated = reflection;
+			generatedIndex = result;
+		}
+		return result;
+	}
+
+	GeneratedReflection<?> getGenerated() {
+		return generated;
+	}
+
+	abstract int findGenerated(GeneratedReflection<?> reflection);
+
+	MethodHandle unreflect(HandleResolver<T> resolver) {
+		MethodHandle handle = AccessSupport.unreflect(getElement(), resolver);
+		if (handle != null) {
+			return handle;
+		}
+		ensureAccess();
 		try {
-			return supplier.get();
-		} finally {
-			if (!accessible) {
-				getElement().setAccessible(false);
-			}
+			return resolver.resolve(MethodHandles.lookup(), getElement());
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
 		}
 	}
 
+	static RuntimeException rethrow(Throwable e) {
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		if (e instanceof RuntimeException) {
+			return (RuntimeException) e;
+		}
+		return new RuntimeException(e);
+	}
+
+	interface HandleResolver<T> {
+
+		MethodHandle resolve(MethodHandles.Lookup lookup, T member) throws IllegalAccessException;
+
+	}
+
 }
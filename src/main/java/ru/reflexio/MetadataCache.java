@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MetadataCache {
+
+	private static final int MAGIC = 0x52465843;
+	private static final int VERSION = 1;
+	private static final byte ARCHIVE = 0;
+	private static final byte DIRECTORY = 1;
+
+	static final class Record {
+
+		private final long size;
+		private final long modified;
+		private final TypeDescriptor descriptor;
+
+		Record(long size, long modified, TypeDescriptor descriptor) {
+			this.size = size;
+			this.modified = modified;
+			this.descriptor = descriptor;
+		}
+
+		boolean matches(long size, long modified) {
+			return this.size == size && this.modified == modified;
+		}
+
+		TypeDescriptor getDescriptor() {
+			return descriptor;
+		}
+
+	}
+
+	static final class Archive {
+
+		private final long size;
+		private final long modified;
+		private final List<TypeDescriptor> descriptors;
+
+		Archive(long size, long modified, List<TypeDescriptor> descriptors) {
+			this.size = size;
+			this.modified = modified;
+			this.descriptors = Collections.unmodifiableList(descriptors);
+		}
+
+		boolean matches(long size, long modified) {
+			return this.size == size && this.modified == modified;
+		}
+
+		List<TypeDescriptor> getDescriptors() {
+			return descriptors;
+		}
+
+	}
+
+	private final Path file;
+	private final Map<String, Object> roots = new LinkedHashMap<>();
+	private final Map<String, Integer> offsets = new HashMap<>();
+	private ByteBuffer buffer;
+	private String[] strings;
+	private boolean loaded;
+	private boolean modified;
+
+	public MetadataCache(Path file) {
+		if (file == null) {
+			throw new IllegalArgumentException();
+		}
+		this.file = file;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public synchronized boolean isModified() {
+		return modified;
+	}
+
+	public synchronized void clear() {
+		load();
+		roots.clear();
+		offsets.clear();
+		modified = true;
+	}
+
+	public synchronized void save() throws IOException {
+		load();
+		for (String root : new ArrayList<>(offsets.keySet())) {
+			decode(root);
+		}
+		Map<String, Integer> table = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> entry : roots.entrySet()) {
+			collect(table, entry.getKey(), entry.getValue());
+		}
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(table.size());
+				for (String string : table.keySet()) {
+					byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				out.writeInt(roots.size());
+				for (Map.Entry<String, Object> entry : roots.entrySet()) {
+					writeRoot(out, table, entry.getKey(), entry.getValue());
+				}
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		modified = false;
+	}
+
+	synchronized Archive findArchive(Path root) {
+		load();
+		Object result = decode(key(root), root);
+		return result instanceof Archive ? (Archive) result : null;
+	}
+
+	synchronized void putArchive(Path root, Archive archive) {
+		load();
+		offsets.remove(key(root));
+		roots.put(key(root), archive);
+		modified = true;
+	}
+
+	@SuppressWarnings("unchecked")
+	synchronized Map<String, Record> findDirectory(Path root) {
+		load();
+		Object result = decode(key(root), root);
+		return result instanceof Map ? (Map<String, Record>) result : Collections.emptyMap();
+	}
+
+	synchronized void putDirectory(Path root, Map<String, Record> records) {
+		load();
+		offsets.remove(key(root));
+		roots.put(key(root), Collections.unmodifiableMap(records));
+		modified = true;
+	}
+
+	private static String key(Path root) {
+		return root.toAbsolutePath().normalize().toString();
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				return;
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			Reader reader = new Reader(0);
+			if (reader.u4() != MAGIC || reader.u4() != VERSION) {
+				buffer = null;
+				return;
+			}
+			strings = new String[reader.u4()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = reader.utf8();
+			}
+			int count = reader.u4();
+			for (int i = 0; i < count; i++) {
+				String root = strings[reader.u4()];
+				int length = reader.u4();
+				offsets.put(root, reader.position);
+				roots.put(root, null);
+				reader.position += length;
+			}
+		} catch (IOException | RuntimeException e) {
+			roots.clear();
+			offsets.clear();
+			buffer = null;
+			strings = null;
+		}
+	}
+
+	private Object decode(String key) {
+		return decode(key, null);
+	}
+
+	private Object decode(String key, Path root) {
+		Integer offset = offsets.get(key);
+		if (offset == null) {
+			return roots.get(key);
+		}
+		offsets.remove(key);
+		Path source = root == null ? Paths.get(key) : root;
+		Object result;
+		try {
+			Reader reader = new Reader(offset);
+			if (reader.u1() == ARCHIVE) {
+				long size = reader.u8();
+				long lastModified = reader.u8();
+				int count = reader.u4();
+				List<TypeDescriptor> descriptors = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					descriptors.add(reader.descriptor(source));
+				}
+				result = new Archive(size, lastModified, descriptors);
+			} else {
+				int count = reader.u4();
+				Map<String, Record> records = new HashMap<>();
+				for (int i = 0; i < count; i++) {
+					String path = strings[reader.u4()];
+					long size = reader.u8();
+					long lastModified = reader.u8();
+					records.put(path, new Record(size, lastModified, reader.descriptor(source)));
+				}
+				result = Collections.unmodifiableMap(records);
+			}
+		} catch (RuntimeException e) {
+			result = null;
+		}
+		if (result == null) {
+			roots.remove(key);
+		} else {
+			roots.put(key, result);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collect(Map<String, Integer> table, String root, Object value) {
+		intern(table, root);
+		if (value instanceof Archive) {
+			for (TypeDescriptor descriptor : ((Archive) value).getDescriptors()) {
+				collect(table, descriptor);
+			}
+		} else {
+			for (Map.Entry<String, Record> entry : ((Map<String, Record>) value).entrySet()) {
+				intern(table, entry.getKey());
+				collect(table, entry.getValue().getDescriptor());
+			}
+		}
+	}
+
+	private static void collect(Map<String, Integer> table, TypeDescriptor descriptor) {
+		intern(table, descriptor.getName());
+		if (descriptor.getSuperclassName() != null) {
+			intern(table, descriptor.getSuperclassName());
+		}
+		for (String name : descriptor.getInterfaceNames()) {
+			intern(table, name);
+		}
+		for (String name : descriptor.getAnnotationNames()) {
+			intern(table, name);
+		}
+		for (String name : descriptor.getMemberAnnotationNames()) {
+			intern(table, name);
+		}
+	}
+
+	private static void intern(Map<String, Integer> table, String string) {
+		table.putIfAbsent(string, table.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeRoot(DataOutputStream out, Map<String, Integer> table, String root, Object value)
+			throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(body);
+		if (value instanceof Archive) {
+			Archive archive = (Archive) value;
+			data.writeByte(ARCHIVE);
+			data.writeLong(archive.size);
+			data.writeLong(archive.modified);
+			data.writeInt(archive.getDescriptors().size());
+			for (TypeDescriptor descriptor : archive.getDescriptors()) {
+				writeDescriptor(data, table, descriptor);
+			}
+		} else {
+			Map<String, Record> records = (Map<String, Record>) value;
+			data.writeByte(DIRECTORY);
+			data.writeInt(records.size());
+			for (Map.Entry<String, Record> entry : records.entrySet()) {
+				Record record = entry.getValue();
+				data.writeInt(table.get(entry.getKey()));
+				data.writeLong(record.size);
+				data.writeLong(record.modified);
+				writeDescriptor(data, table, record.getDescriptor());
+			}
+		}
+		data.flush();
+		out.writeInt(table.get(root));
+		out.writeInt(body.size());
+		body.writeTo(out);
+	}
+
+	private static void writeDescriptor(DataOutputStream out, Map<String, Integer> table, TypeDescriptor descriptor)
+			throws IOException {
+		out.writeInt(table.get(descriptor.getName()));
+		out.writeInt(descriptor.getSuperclassName() == null ? -1 : table.get(descriptor.getSuperclassName()));
+		out.writeInt(descriptor.getModifiers());
+		writeNames(out, table, descriptor.getInterfaceNames());
+		writeNames(out, table, descriptor.getAnnotationNames());
+		writeNames(out, table, descriptor.getMemberAnnotationNames());
+	}
+
+	private static void writeNames(DataOutputStream out, Map<String, Integer> table, List<String> names)
+			throws IOException {
+		out.writeInt(names.size());
+		for (String name : names) {
+			out.writeInt(table.get(name));
+		}
+	}
+
+	private final class Reader {
+
+		private int position;
+
+		Reader(int position) {
+			this.position = position;
+		}
+
+		TypeDescriptor descriptor(Path source) {
+			String name = strings[u4()];
+			int superIndex = u4();
+			String superclassName = superIndex < 0 ? null : strings[superIndex];
+			int modifiers = u4();
+			List<String> interfaceNames = names();
+			List<String> annotationNames = names();
+			List<String> memberAnnotationNames = names();
+			return new TypeDescriptor(name, superclassName, interfaceNames, modifiers, annotationNames,
+					memberAnnotationNames, source);
+		}
+
+		List<String> names() {
+			int count = u4();
+			List<String> result = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				result.add(strings[u4()]);
+			}
+			return result;
+		}
+
+		String utf8() {
+			int length = u4();
+			byte[] bytes = new byte[length];
+			for (int i = 0; i < length; i++) {
+				bytes[i] = buffer.get(position + i);
+			}
+			position += length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		int u1() {
+			return buffer.get(position++) & 0xFF;
+		}
+
+		int u4() {
+			int result = buffer.getInt(position);
+			position += 4;
+			return result;
+		}
+
+		long u8() {
+			long result = buffer.getLong(position);
+			position += 8;
+			return result;
+		}
+
+	}
+
+}
@@ -25,24 +25,72 @@
  */
 package ru.reflexio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 abstract class MethodReflection extends ExecutableReflection<Method> implements IMethodReflection {
 
-	MethodReflection(Method method) {
-		super(method);
+	private final Lazy<MethodHandle> directHandle = new Lazy<>(() -> unreflect(MethodHandles.Lookup::unreflect));
+	private final Lazy<MethodHandle> invoker = new Lazy<>(this::resolveInvoker);
+
+	MethodReflection(Method method, InvocationBackend backend) {
+		super(method, backend);
 	}
 
 	Object invoke(Object data, Object... args) {
-		return forceAccess(() -> {
+		int index = getGeneratedIndex();
+		if (index >= 0) {
+			try {
+				return getGenerated().invoke(index, data, checkArguments(args));
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+		if (getBackend() == InvocationBackend.MethodHandle) {
 			try {
-				return getElement().invoke(data, args);
-			} catch (InvocationTargetException | IllegalAccessException e) {
-				throw new RuntimeException(e);
+				return (Object) invoker.get().invokeExact(data, args);
+			} catch (Throwable e) {
+				throw rethrow(e);
 			}
-		});
+		}
+		ensureAccess();
+		try {
+			return getElement().invoke(data, args);
+		} catch (InvocationTargetException e) {
+			throw rethrow(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	void prepare() {
+		super.prepare();
+		if (getGeneratedIndex() < 0 && getBackend() == InvocationBackend.MethodHandle) {
+			invoker.get();
+		}
+	}
+
+	@Override
+	int findGenerated(GeneratedReflection<?> reflection) {
+		return reflection.findMethod(getSignature());
+	}
+
+	MethodHandle getDirectHandle() {
+		return directHandle.get();
+	}
+
+	private MethodHandle resolveInvoker() {
+		MethodHandle handle = getDirectHandle().asFixedArity();
+		if (isStatic()) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		int count = getParameterCount();
+		return handle.asType(MethodType.genericMethodType(count + 1)).asSpreader(Object[].class, count);
 	}
 
 	@Override
@@ -65,12 +113,48 @@ abstract class MethodReflection extends ExecutableReflection<Method> implements
 		boolean isBoolean = getType() == Boolean.class || getType() == boolean.class;
 		boolean hasBooleanName = getName().startsWith(IS_PREFIX);
 		boolean hasGetPrefix = getName().startsWith(GET_PREFIX);
-		return getElement().getParameterCount() == 0 && (hasGetPrefix || (isBoolean && hasBooleanName));
+		return getParameterCount() == 0 && (hasGetPrefix || (isBoolean && hasBooleanName));
 	}
 
 	@Override
 	public boolean isSetter() {
-		return getElement().getParameterCount() == 1 && getName().startsWith(SET_PREFIX);
+		return getParameterCount() == 1 && getName().startsWith(SET_PREFIX);
+	}
+
+	@Override
+	public IGenericTypeReflection getGenericReturnType() {
+		return getGenericReturnType(getElement().getDeclaringClass());
+	}
+
+	@Override
+	public IGenericTypeReflection getGenericReturnType(Class<?> owner) {
+		return GenericTypeReflection.of(getElement().getGenericReturnType(), getElement().getDeclaringClass(), owner,
+				getBackend());
+	}
+
+	String getPropertyName() {
+		int prefix;
+		if (isGetter()) {
+			if (getType() == void.class) {
+				return null;
+			}
+			prefix = getName().startsWith(GET_PREFIX) ? GET_PREFIX.length() : IS_PREFIX.length();
+		} else if (isSetter()) {
+			prefix = SET_PREFIX.length();
+		} else {
+			return null;
+		}
+		if (getName().length() == prefix) {
+			return null;
+		}
+		return decapitalize(getName().substring(prefix));
+	}
+
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
 	}
 
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class MethodTable {
+
+	private final Class<?> type;
+	private final InvocationBackend backend;
+	private final InstanceMethodReflection[] slots;
+	private final String[] signatures;
+	private final Map<String, Integer> index;
+	private final List<IInstanceMethodReflection> methods;
+
+	MethodTable(TypeMetadata metadata) {
+		type = metadata.getType();
+		backend = metadata.getBackend();
+		List<InstanceMethodReflection> slotList = new ArrayList<>();
+		List<String> signatureList = new ArrayList<>();
+		Map<String, Integer> signatureIndex = new HashMap<>();
+		TypeMetadata superMetadata = metadata.getSuperMetadata();
+		if (superMetadata != null) {
+			MethodTable inherited = superMetadata.getMethodTable();
+			Collections.addAll(slotList, inherited.slots);
+			Collections.addAll(signatureList, inherited.signatures);
+			signatureIndex.putAll(inherited.index);
+		}
+		List<InstanceMethodReflection> bridges = new ArrayList<>();
+		for (IInstanceMethodReflection declared : metadata.getInstanceTypeMethods()) {
+			InstanceMethodReflection method = (InstanceMethodReflection) declared;
+			Method element = method.getElement();
+			if (element.isBridge()) {
+				bridges.add(method);
+			} else if (!element.isSynthetic() && !Modifier.isPrivate(element.getModifiers())) {
+				String signature = method.getSignature();
+				Integer slot = signatureIndex.get(signature);
+				if (slot != null && overrides(element, slotList.get(slot).getElement())) {
+					slotList.set(slot, method);
+				} else {
+					signatureIndex.put(signature, slotList.size());
+					slotList.add(method);
+					signatureList.add(signature);
+				}
+			}
+		}
+		for (Class<?> superinterface : type.getInterfaces()) {
+			MethodTable inherited = TypeMetadata.of(superinterface, backend).getMethodTable();
+			for (int i = 0; i < inherited.slots.length; i++) {
+				String signature = inherited.signatures[i];
+				InstanceMethodReflection method = inherited.slots[i];
+				Integer slot = signatureIndex.get(signature);
+				if (slot == null) {
+					signatureIndex.put(signature, slotList.size());
+					slotList.add(method);
+					signatureList.add(signature);
+				} else if (isMoreSpecific(method.getElement(), slotList.get(slot).getElement())) {
+					slotList.set(slot, method);
+				}
+			}
+		}
+		for (InstanceMethodReflection bridge : bridges) {
+			InstanceMethodReflection target = findBridgeTarget(bridge, slotList);
+			if (target != null) {
+				String signature = bridge.getSignature();
+				Integer slot = signatureIndex.get(signature);
+				if (slot == null) {
+					signatureIndex.put(signature, signatureIndex.get(target.getSignature()));
+				} else {
+					slotList.set(slot, target);
+				}
+			}
+		}
+		slots = slotList.toArray(new InstanceMethodReflection[0]);
+		signatures = signatureList.toArray(new String[0]);
+		index = signatureIndex;
+		Set<IInstanceMethodReflection> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<IInstanceMethodReflection> result = new ArrayList<>();
+		for (InstanceMethodReflection method : slots) {
+			if (distinct.add(method)) {
+				result.add(method);
+			}
+		}
+		methods = Collections.unmodifiableList(result);
+	}
+
+	List<IInstanceMethodReflection> getMethods() {
+		return methods;
+	}
+
+	int size() {
+		return slots.length;
+	}
+
+	IInstanceMethodReflection get(int slot) {
+		if (slot < 0 || slot >= slots.length) {
+			throw new IllegalArgumentException("Invalid slot: " + slot);
+		}
+		return slots[slot];
+	}
+
+	int findSlot(String name, Class<?>[] parameterTypes) {
+		if (name == null) {
+			return -1;
+		}
+		StringBuilder signature = new StringBuilder(name).append('(');
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				signature.append(',');
+			}
+			signature.append(parameterTypes[i].getTypeName());
+		}
+		Integer slot = index.get(signature.append(')').toString());
+		return slot == null ? -1 : slot;
+	}
+
+	Object invoke(int slot, Object data, Object[] args) {
+		IInstanceMethodReflection method = get(slot);
+		if (!type.isInstance(data)) {
+			throw new IllegalArgumentException("Not an instance of " + type.getName() + ": " + data);
+		}
+		Class<?> runtimeType = data.getClass();
+		if (runtimeType != type) {
+			MethodTable runtime = TypeMetadata.of(runtimeType, backend).getMethodTable();
+			method = type.isInterface() ? runtime.get(runtime.index.get(signatures[slot])) : runtime.slots[slot];
+		}
+		return method.invoke(data, args);
+	}
+
+	private static boolean overrides(Method method, Method base) {
+		int modifiers = base.getModifiers();
+		if (Modifier.isPrivate(modifiers)) {
+			return false;
+		}
+		if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) {
+			return true;
+		}
+		return packageName(method.getDeclaringClass()).equals(packageName(base.getDeclaringClass()));
+	}
+
+	private static boolean isMoreSpecific(Method candidate, Method current) {
+		Class<?> currentOwner = current.getDeclaringClass();
+		Class<?> candidateOwner = candidate.getDeclaringClass();
+		if (!currentOwner.isInterface() || currentOwner == candidateOwner) {
+			return false;
+		}
+		if (currentOwner.isAssignableFrom(candidateOwner)) {
+			return true;
+		}
+		return Modifier.isAbstract(current.getModifiers()) && candidate.isDefault();
+	}
+
+	private static InstanceMethodReflection findBridgeTarget(InstanceMethodReflection bridge,
+			List<InstanceMethodReflection> candidates) {
+		Method element = bridge.getElement();
+		Class<?>[] bridgeTypes = element.getParameterTypes();
+		for (InstanceMethodReflection candidate : candidates) {
+			Method method = candidate.getElement();
+			if (method.getDeclaringClass() != element.getDeclaringClass() || !method.getName().equals(element.getName())
+					|| method.getParameterCount() != bridgeTypes.length
+					|| !element.getReturnType().isAssignableFrom(method.getReturnType())) {
+				continue;
+			}
+			Class<?>[] types = method.getParameterTypes();
+			boolean matches = true;
+			for (int i = 0; i < types.length && matches; i++) {
+				matches = bridgeTypes[i].isAssignableFrom(types[i]);
+			}
+			if (matches) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static String packageName(Class<?> type) {
+		String name = type.getName();
+		int dot = name.lastIndexOf('.');
+		return dot < 0 ? "" : name.substring(0, dot);
+	}
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+public final class ObjectMethods {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType EQUALS_TYPE = MethodType.methodType(boolean.class, Object.class, Object.class);
+	private static final MethodType HASH_TYPE = MethodType.methodType(int.class, Object.class);
+	private static final MethodType APPEND_TYPE = MethodType.methodType(StringBuilder.class, StringBuilder.class, Object.class);
+	private static final MethodHandle TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class, Object.class);
+	private static final MethodHandle FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Object.class, Object.class);
+	private static final MethodHandle MIX = find(ObjectMethods.class, "mix", int.class, int.class, int.class);
+	private static final MethodHandle APPEND = find(StringBuilder.class, "append", StringBuilder.class, String.class);
+
+	private ObjectMethods() {
+	}
+
+	public static <T> BiPredicate<T, T> compileEquals(ITypeReflection<T> type) {
+		return compileEquals(type, null);
+	}
+
+	public static <T> BiPredicate<T, T> compileEquals(ITypeReflection<T> type, Predicate<? super IInstanceFieldReflection> filter) {
+		MethodHandle result = TRUE;
+		List<InstanceFieldReflection> fields = select(type, filter);
+		for (int i = fields.size() - 1; i >= 0; i--) {
+			MethodHandle getter = fields.get(i).getDirectGetter();
+			MethodHandle equal = MethodHandles.filterArguments(equality(getter.type().returnType()), 0, getter, getter);
+			result = MethodHandles.guardWithTest(equal.asType(EQUALS_TYPE), result, FALSE);
+		}
+		MethodHandle handle = result;
+		return (a, b) -> {
+			if (a == b) {
+				return true;
+			}
+			if (a == null || b == null || a.getClass() != b.getClass()) {
+				return false;
+			}
+			try {
+				return (boolean) handle.invokeExact((Object) a, (Object) b);
+			} catch (Throwable e) {
+				throw MemberReflection.rethrow(e);
+			}
+		};
+	}
+
+	public static <T> ToIntFunction<T> compileHashCode(ITypeReflection<T> type) {
+		return compileHashCode(type, null);
+	}
+
+	public static <T> ToIntFunction<T> compileHashCode(ITypeReflection<T> type, Predicate<? super IInstanceFieldReflection> filter) {
+		MethodHandle result = MethodHandles.dropArguments(MethodHandles.constant(int.class, 1), 0, Object.class);
+		for (InstanceFieldReflection field : select(type, filter)) {
+			MethodHandle getter = field.getDirectGetter();
+			MethodHandle hash = MethodHandles.filterArguments(hashing(getter.type().returnType()), 0, getter);
+			MethodHandle step = MethodHandles.filterArguments(MIX, 0, result, hash.asType(HASH_TYPE));
+			result = MethodHandles.permuteArguments(step, HASH_TYPE, 0, 0);
+		}
+		MethodHandle handle = result;
+		return value -> {
+			if (value == null) {
+				return 0;
+			}
+			try {
+				return (int) handle.invokeExact((Object) value);
+			} catch (Throwable e) {
+				throw MemberReflection.rethrow(e);
+			}
+		};
+	}
+
+	public static <T> Function<T, String> compileToString(ITypeReflection<T> type) {
+		return compileToString(type, null);
+	}
+
+	public static <T> Function<T, String> compileToString(ITypeReflection<T> type, Predicate<? super IInstanceFieldReflection> filter) {
+		MethodHandle result = MethodHandles.dropArguments(MethodHandles.identity(StringBuilder.class), 1, Object.class);
+		String separator = "";
+		for (InstanceFieldReflection field : select(type, filter)) {
+			MethodHandle getter = field.getDirectGetter();
+			MethodHandle label = MethodHandles.insertArguments(APPEND, 1, separator + field.getName() + "=");
+			MethodHandle value = MethodHandles.filterArguments(appending(getter.type().returnType()), 1, getter);
+			MethodHandle step = MethodHandles.filterArguments(value, 0, label).asType(APPEND_TYPE);
+			result = MethodHandles.permuteArguments(MethodHandles.collectArguments(step, 0, result),
+					APPEND_TYPE, 0, 1, 1);
+			separator = ", ";
+		}
+		MethodHandle handle = result;
+		String prefix = type.getType().getSimpleName() + "[";
+		return value -> {
+			if (value == null) {
+				return "null";
+			}
+			try {
+				return ((StringBuilder) handle.invokeExact(new StringBuilder(prefix), (Object) value)).append(']').toString();
+			} catch (Throwable e) {
+				throw MemberReflection.rethrow(e);
+			}
+		};
+	}
+
+	private static List<InstanceFieldReflection> select(ITypeReflection<?> type, Predicate<? super IInstanceFieldReflection> filter) {
+		if (type == null) {
+			throw new IllegalArgumentException();
+		}
+		List<InstanceFieldReflection> result = new ArrayList<>();
+		for (IInstanceFieldReflection field : type.getInstanceFields()) {
+			InstanceFieldReflection reflection = (InstanceFieldReflection) field;
+			if (!reflection.getElement().isSynthetic() && (filter == null || filter.test(field))) {
+				result.add(reflection);
+			}
+		}
+		return result;
+	}
+
+	private static MethodHandle equality(Class<?> type) {
+		MethodHandle result;
+		if (type.isPrimitive()) {
+			result = find(ObjectMethods.class, "equal", boolean.class, widen(type), widen(type));
+		} else if (type.isArray()) {
+			Class<?> arrayType = type.getComponentType().isPrimitive() ? type : Object[].class;
+			result = find(Arrays.class, arrayType == type ? "equals" : "deepEquals", boolean.class, arrayType, arrayType);
+		} else {
+			result = find(Objects.class, "equals", boolean.class, Object.class, Object.class);
+		}
+		return result.asType(MethodType.methodType(boolean.class, type, type));
+	}
+
+	private static MethodHandle hashing(Class<?> type) {
+		MethodHandle result;
+		if (type.isPrimitive()) {
+			Class<?> boxedType = Primitive.findByPrimitiveType(type).getBoxedType();
+			result = find(boxedType, "hashCode", int.class, type);
+		} else if (type.isArray()) {
+			Class<?> arrayType = type.getComponentType().isPrimitive() ? type : Object[].class;
+			result = find(Arrays.class, arrayType == type ? "hashCode" : "deepHashCode", int.class, arrayType);
+		} else {
+			result = find(Objects.class, "hashCode", int.class, Object.class);
+		}
+		return result.asType(MethodType.methodType(int.class, type));
+	}
+
+	private static MethodHandle appending(Class<?> type) {
+		MethodHandle result;
+		if (type.isPrimitive()) {
+			result = find(StringBuilder.class, "append", StringBuilder.class, widen(type) == int.class && type != char.class ? int.class : type);
+		} else if (type.isArray()) {
+			Class<?> arrayType = type.getComponentType().isPrimitive() ? type : Object[].class;
+			MethodHandle text = find(Arrays.class, arrayType == type ? "toString" : "deepToString", String.class, arrayType);
+			result = MethodHandles.filterArguments(APPEND, 1, text);
+		} else {
+			result = find(StringBuilder.class, "append", StringBuilder.class, Object.class);
+		}
+		return result.asType(MethodType.methodType(StringBuilder.class, StringBuilder.class, type));
+	}
+
+	private static Class<?> widen(Class<?> type) {
+		return type == byte.class || type == short.class || type == char.class ? int.class : type;
+	}
+
+	private static MethodHandle find(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+		MethodType methodType = MethodType.methodType(returnType, parameterTypes);
+		try {
+			return owner == StringBuilder.class
+					? LOOKUP.findVirtual(owner, name, methodType)
+					: LOOKUP.findStatic(owner, name, methodType);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static int mix(int hash, int value) {
+		return 31 * hash + value;
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean equal(boolean a, boolean b) {
+		return a == b;
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean equal(int a, int b) {
+		return a == b;
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean equal(long a, long b) {
+		return a == b;
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean equal(float a, float b) {
+		return Float.floatToIntBits(a) == Float.floatToIntBits(b);
+	}
+
+	@SuppressWarnings("unused")
+	private static boolean equal(double a, double b) {
+		return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+	}
+
+}
@@ -30,8 +30,11 @@ import java.lang.reflect.Parameter;
 
 class ParameterReflection extends AnnotatedReflection<Parameter> implements IParameterReflection {
 
-	ParameterReflection(Parameter element) {
+	private final InvocationBackend backend;
+
+	ParameterReflection(Parameter element, InvocationBackend backend) {
 		super(element);
+		this.backend = backend;
 	}
 
 	@Override
@@ -49,4 +52,15 @@ class ParameterReflection extends AnnotatedReflection<Parameter> implements IPar
 		return Modifier.isFinal(getElement().getModifiers());
 	}
 
+	@Override
+	public IGenericTypeReflection getGenericType() {
+		return getGenericType(getElement().getDeclaringExecutable().getDeclaringClass());
+	}
+
+	@Override
+	public IGenericTypeReflection getGenericType(Class<?> owner) {
+		return GenericTypeReflection.of(getElement().getParameterizedType(),
+				getElement().getDeclaringExecutable().getDeclaringClass(), owner, backend);
+	}
+
 }
@@ -25,8 +25,6 @@
  */
 package ru.reflexio;
 
-import java.util.Objects;
-
 public enum Primitive {
 	
 	Boolean(boolean.class, Boolean.class),
@@ -39,31 +37,88 @@ public enum Primitive {
 	Double(double.class, Double.class),
 	Void(void.class, Void.class);
 
-	public static Primitive findByPrimitiveType(Class<?> primitiveType) {
-		for (Primitive primitive : values()) {
-			if (Objects.equals(primitive.getPrimitiveType(), primitiveType)) {
-				return primitive;
+	private static final Primitive[] VALUES = values();
+
+	private static final ClassValue<Primitive> INDEX = new ClassValue<Primitive>() {
+		@Override
+		protected Primitive computeValue(Class<?> type) {
+			for (Primitive primitive : VALUES) {
+				if (primitive.primitiveType == type || primitive.boxedType == type) {
+					return primitive;
+				}
 			}
+			return null;
+		}
+	};
+
+	private static final boolean[][] WIDENING = new boolean[VALUES.length][VALUES.length];
+
+	static {
+		for (Primitive primitive : VALUES) {
+			WIDENING[primitive.ordinal()][primitive.ordinal()] = true;
+		}
+		widen(Byte, Short, Int, Long, Float, Double);
+		widen(Short, Int, Long, Float, Double);
+		widen(Char, Int, Long, Float, Double);
+		widen(Int, Long, Float, Double);
+		widen(Long, Float, Double);
+		widen(Float, Double);
+	}
+
+	private static void widen(Primitive from, Primitive... targets) {
+		for (Primitive to : targets) {
+			WIDENING[from.ordinal()][to.ordinal()] = true;
+		}
+	}
+
+	public static Primitive findByPrimitiveType(Class<?> primitiveType) {
+		if (primitiveType == null || !primitiveType.isPrimitive()) {
+			return null;
 		}
-		return null;
+		return INDEX.get(primitiveType);
 	}
 
 	public static Primitive findByBoxedType(Class<?> boxedType) {
-		for (Primitive primitive : values()) {
-			if (Objects.equals(primitive.getBoxedType(), boxedType)) {
-				return primitive;
-			}
+		if (boxedType == null || boxedType.isPrimitive()) {
+			return null;
 		}
-		return null;
+		return INDEX.get(boxedType);
 	}
 
 	public static boolean canAssign(Class<?> type1, Class<?> type2) {
-		for (Primitive primitive : values()) {
-			if (primitive.match(type1, type2)) {
-				return true;
+		if (type1 == null || type2 == null || type1 == type2) {
+			return false;
+		}
+		Primitive primitive = INDEX.get(type1);
+		return primitive != null && primitive == INDEX.get(type2);
+	}
+
+	public static boolean canWiden(Class<?> from, Class<?> to) {
+		Primitive source = findByPrimitiveType(from);
+		Primitive target = findByPrimitiveType(to);
+		return source != null && target != null && WIDENING[source.ordinal()][target.ordinal()];
+	}
+
+	public static boolean canConvert(Class<?> from, Class<?> to) {
+		if (from == null || to == null) {
+			return false;
+		}
+		if (from.isPrimitive()) {
+			if (to.isPrimitive()) {
+				return canWiden(from, to);
 			}
+			Primitive primitive = INDEX.get(from);
+			return from != void.class && to.isAssignableFrom(primitive.boxedType);
+		}
+		if (to.isPrimitive()) {
+			return canWiden(findPrimitiveType(from), to);
 		}
-		return false;
+		return to.isAssignableFrom(from);
+	}
+
+	private static Class<?> findPrimitiveType(Class<?> boxedType) {
+		Primitive primitive = findByBoxedType(boxedType);
+		return primitive == null ? null : primitive.primitiveType;
 	}
 	
 	private final Class<?> primitiveType;
@@ -82,9 +137,4 @@ public enum Primitive {
 		return boxedType;
 	}
 
-	private boolean match(Class<?> type1, Class<?> type2) {
-		return (Objects.equals(primitiveType, type1) && Objects.equals(boxedType, type2))
-				|| (Objects.equals(primitiveType, type2) && Objects.equals(boxedType, type1));
-	}
-
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+final class PropertyPathReflection implements IPropertyPathReflection {
+
+	private static final MethodType STEP_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodHandle IS_NULL;
+	private static final MethodHandle NULL;
+	private static final MethodHandle LIST_GET;
+
+	static {
+		try {
+			IS_NULL = MethodHandles.lookup().findStatic(Objects.class, "isNull",
+					MethodType.methodType(boolean.class, Object.class));
+			NULL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+			LIST_GET = MethodHandles.lookup().findVirtual(List.class, "get",
+					MethodType.methodType(Object.class, int.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Class<?> rootType;
+	private final String path;
+	private final Class<?> type;
+	private final MethodHandle owner;
+	private final MethodHandle terminal;
+	private final MethodHandle reader;
+
+	private final Lazy<MethodHandle> booleanReader = new Lazy<>(() -> adapt(boolean.class));
+	private final Lazy<MethodHandle> intReader = new Lazy<>(() -> adapt(int.class));
+	private final Lazy<MethodHandle> longReader = new Lazy<>(() -> adapt(long.class));
+	private final Lazy<MethodHandle> doubleReader = new Lazy<>(() -> adapt(double.class));
+
+	PropertyPathReflection(TypeMetadata root, String path) {
+		if (path == null || path.isEmpty()) {
+			throw new IllegalArgumentException("Empty property path");
+		}
+		this.rootType = root.getType();
+		this.path = path;
+		List<MethodHandle> steps = new ArrayList<>();
+		Class<?> current = rootType;
+		IGenericTypeReflection generic = null;
+		for (String segment : path.split("\\.", -1)) {
+			int bracket = segment.indexOf('[');
+			String name = bracket < 0 ? segment : segment.substring(0, bracket);
+			if (name.isEmpty()) {
+				throw invalid();
+			}
+			generic = resolveProperty(steps, TypeMetadata.of(current, root.getBackend()), generic, name);
+			current = returnType(steps);
+			while (bracket >= 0) {
+				int end = segment.indexOf(']', bracket);
+				if (end < 0) {
+					throw invalid();
+				}
+				generic = resolveElement(steps, current, generic, parseIndex(segment.substring(bracket + 1, end)));
+				current = returnType(steps);
+				if (end + 1 < segment.length() && segment.charAt(end + 1) != '[') {
+					throw invalid();
+				}
+				bracket = end + 1 < segment.length() ? end + 1 : -1;
+			}
+		}
+		type = current;
+		MethodHandle prefix = MethodHandles.identity(Object.class);
+		for (int i = 0; i < steps.size() - 1; i++) {
+			MethodHandle step = steps.get(i).asType(STEP_TYPE);
+			prefix = MethodHandles.filterReturnValue(prefix, MethodHandles.guardWithTest(IS_NULL, NULL, step));
+		}
+		owner = prefix;
+		terminal = steps.get(steps.size() - 1);
+		reader = terminal.asType(STEP_TYPE);
+	}
+
+	@Override
+	public String getPath() {
+		return path;
+	}
+
+	@Override
+	public Class<?> getRootType() {
+		return rootType;
+	}
+
+	@Override
+	public Class<?> getType() {
+		return type;
+	}
+
+	@Override
+	public Object getValue(Object root) {
+		Object data = resolveOwner(root);
+		if (data == null) {
+			return null;
+		}
+		try {
+			return (Object) reader.invokeExact(data);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public boolean getBooleanValue(Object root, boolean defaultValue) {
+		MethodHandle handle = booleanReader.get();
+		Object data = resolveOwner(root);
+		if (data == null) {
+			return defaultValue;
+		}
+		try {
+			return (boolean) handle.invokeExact(data, defaultValue);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public int getIntValue(Object root, int defaultValue) {
+		MethodHandle handle = intReader.get();
+		Object data = resolveOwner(root);
+		if (data == null) {
+			return defaultValue;
+		}
+		try {
+			return (int) handle.invokeExact(data, defaultValue);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public long getLongValue(Object root, long defaultValue) {
+		MethodHandle handle = longReader.get();
+		Object data = resolveOwner(root);
+		if (data == null) {
+			return defaultValue;
+		}
+		try {
+			return (long) handle.invokeExact(data, defaultValue);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public double getDoubleValue(Object root, double defaultValue) {
+		MethodHandle handle = doubleReader.get();
+		Object data = resolveOwner(root);
+		if (data == null) {
+			return defaultValue;
+		}
+		try {
+			return (double) handle.invokeExact(data, defaultValue);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return rootType.getName() + "#" + path;
+	}
+
+	private Object resolveOwner(Object root) {
+		if (root == null) {
+			return null;
+		}
+		if (!rootType.isInstance(root)) {
+			throw new IllegalArgumentException("Not an instance of " + rootType.getName() + ": " + root);
+		}
+		try {
+			return (Object) owner.invokeExact(root);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	private MethodHandle adapt(Class<?> valueType) {
+		try {
+			if (type.isPrimitive()) {
+				MethodHandle value = terminal.asType(MethodType.methodType(valueType, Object.class));
+				return MethodHandles.dropArguments(value, 1, valueType);
+			}
+			MethodHandle test = MethodHandles.dropArguments(IS_NULL.asType(MethodType.methodType(boolean.class, type)),
+					1, valueType);
+			MethodHandle fallback = MethodHandles.dropArguments(MethodHandles.identity(valueType), 0, type);
+			MethodHandle unbox = MethodHandles.dropArguments(
+					MethodHandles.identity(type).asType(MethodType.methodType(valueType, type)), 1, valueType);
+			MethodHandle value = MethodHandles.guardWithTest(test, fallback, unbox);
+			return MethodHandles.filterArguments(value, 0, terminal);
+		} catch (WrongMethodTypeException e) {
+			throw new IllegalArgumentException("Property path " + path + " of type " + type.getName()
+					+ " is not convertible to " + valueType.getName(), e);
+		}
+	}
+
+	private static Class<?> returnType(List<MethodHandle> steps) {
+		return steps.get(steps.size() - 1).type().returnType();
+	}
+
+	private IGenericTypeReflection resolveProperty(List<MethodHandle> steps, TypeMetadata metadata,
+			IGenericTypeReflection owner, String name) {
+		Class<?> current = metadata.getType();
+		PropertyReflection property = (PropertyReflection) metadata.findProperty(name);
+		MethodHandle handle;
+		Type genericType;
+		if (property != null && property.isReadable()) {
+			handle = property.getDirectReader();
+			genericType = property.getGenericType();
+		} else {
+			InstanceFieldReflection field = (InstanceFieldReflection) metadata.findInstanceField(name);
+			if (field == null) {
+				throw new IllegalArgumentException("Unknown property " + name + " of " + current.getName() + " in " + path);
+			}
+			handle = field.getDirectGetter();
+			genericType = field.getElement().getGenericType();
+		}
+		IGenericTypeReflection generic = owner == null ? metadata.getGenericType(genericType)
+				: ((GenericTypeReflection) owner).resolveMember(genericType);
+		steps.add(handle.asType(MethodType.methodType(generic.getRawType(), Object.class)));
+		return generic;
+	}
+
+	private IGenericTypeReflection resolveElement(List<MethodHandle> steps, Class<?> current,
+			IGenericTypeReflection generic, int index) {
+		if (current.isArray()) {
+			MethodHandle handle = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(current), 1, index);
+			IGenericTypeReflection component = generic == null ? null : generic.getComponentType();
+			Class<?> componentType = component == null ? current.getComponentType() : component.getRawType();
+			steps.add(handle.asType(MethodType.methodType(componentType, Object.class)));
+			return component;
+		}
+		if (List.class.isAssignableFrom(current)) {
+			MethodHandle handle = MethodHandles.insertArguments(LIST_GET, 1, index);
+			IGenericTypeReflection list = generic == null ? null : generic.findSupertype(List.class);
+			IGenericTypeReflection element = list == null || list.getTypeArguments().isEmpty() ? null
+					: list.getTypeArguments().get(0);
+			Class<?> elementType = element == null ? Object.class : element.getRawType();
+			steps.add(handle.asType(MethodType.methodType(elementType, Object.class)));
+			return element;
+		}
+		throw new IllegalArgumentException(current.getName() + " is not indexable in " + path);
+	}
+
+	private int parseIndex(String index) {
+		if (index.isEmpty()) {
+			throw invalid();
+		}
+		for (int i = 0; i < index.length(); i++) {
+			if (!Character.isDigit(index.charAt(i))) {
+				throw invalid();
+			}
+		}
+		try {
+			return Integer.parseInt(index);
+		} catch (NumberFormatException e) {
+			throw invalid();
+		}
+	}
+
+	private IllegalArgumentException invalid() {
+		return new IllegalArgumentException("Invalid property path: " + path);
+	}
+
+}
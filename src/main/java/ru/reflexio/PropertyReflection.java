@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+class PropertyReflection implements IPropertyReflection {
+
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final String name;
+	private final Class<?> type;
+	private final InstanceFieldReflection field;
+	private final InstanceMethodReflection getter;
+	private final InstanceMethodReflection setter;
+
+	private final Lazy<MethodHandle> reader = new Lazy<>(this::resolveReader);
+	private final Lazy<MethodHandle> writer = new Lazy<>(this::resolveWriter);
+
+	PropertyReflection(String name, InstanceFieldReflection field, InstanceMethodReflection getter,
+			InstanceMethodReflection setter) {
+		if (name == null || (field == null && getter == null && setter == null)) {
+			throw new IllegalArgumentException();
+		}
+		this.name = name;
+		this.field = field;
+		this.getter = getter;
+		this.setter = setter;
+		if (getter != null) {
+			type = getter.getType();
+		} else if (setter != null) {
+			type = setter.getElement().getParameterTypes()[0];
+		} else {
+			type = field.getType();
+		}
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Class<?> getType() {
+		return type;
+	}
+
+	@Override
+	public boolean isReadable() {
+		return getter != null || field != null;
+	}
+
+	@Override
+	public boolean isWritable() {
+		return setter != null || (field != null && !field.isFinal());
+	}
+
+	@Override
+	public IInstanceFieldReflection getField() {
+		return field;
+	}
+
+	@Override
+	public IInstanceMethodReflection getGetter() {
+		return getter;
+	}
+
+	@Override
+	public IInstanceMethodReflection getSetter() {
+		return setter;
+	}
+
+	@Override
+	public Object getValue(Object data) {
+		try {
+			return (Object) reader.get().invokeExact(data);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@Override
+	public void setValue(Object data, Object value) {
+		try {
+			writer.get().invokeExact(data, value);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T, V> Function<T, V> compileGetter() {
+		MethodHandle handle = reader.get();
+		return data -> {
+			try {
+				return (V) (Object) handle.invokeExact((Object) data);
+			} catch (Throwable e) {
+				throw MemberReflection.rethrow(e);
+			}
+		};
+	}
+
+	@Override
+	public <T, V> BiConsumer<T, V> compileSetter() {
+		MethodHandle handle = writer.get();
+		return (data, value) -> {
+			try {
+				handle.invokeExact((Object) data, (Object) value);
+			} catch (Throwable e) {
+				throw MemberReflection.rethrow(e);
+			}
+		};
+	}
+
+	@Override
+	public Annotation[] getAnnotations() {
+		List<Annotation> result = new ArrayList<>();
+		if (field != null) {
+			result.addAll(Arrays.asList(field.getAnnotations()));
+		}
+		if (getter != null) {
+			result.addAll(Arrays.asList(getter.getAnnotations()));
+		}
+		if (setter != null) {
+			result.addAll(Arrays.asList(setter.getAnnotations()));
+		}
+		return result.toArray(new Annotation[0]);
+	}
+
+	@Override
+	public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+		A result = null;
+		if (field != null) {
+			result = field.getAnnotation(annotationType);
+		}
+		if (result == null && getter != null) {
+			result = getter.getAnnotation(annotationType);
+		}
+		if (result == null && setter != null) {
+			result = setter.getAnnotation(annotationType);
+		}
+		return result;
+	}
+
+	@Override
+	public <A extends Annotation> List<MetaAnnotation<A>> getMetaAnnotations(Class<A> metaClass) {
+		List<MetaAnnotation<A>> result = new ArrayList<>();
+		if (field != null) {
+			result.addAll(field.getMetaAnnotations(metaClass));
+		}
+		if (getter != null) {
+			result.addAll(getter.getMetaAnnotations(metaClass));
+		}
+		if (setter != null) {
+			result.addAll(setter.getMetaAnnotations(metaClass));
+		}
+		return result;
+	}
+
+	MethodHandle getDirectReader() {
+		if (getter != null) {
+			return getter.getDirectHandle();
+		}
+		if (field != null) {
+			return field.getDirectGetter();
+		}
+		throw new UnsupportedOperationException("Property " + name + " is not readable");
+	}
+
+	Type getGenericType() {
+		if (getter != null) {
+			return getter.getElement().getGenericReturnType();
+		}
+		if (field != null) {
+			return field.getElement().getGenericType();
+		}
+		return setter.getElement().getGenericParameterTypes()[0];
+	}
+
+	void prepare() {
+		if (isReadable()) {
+			reader.get();
+		}
+		if (isWritable()) {
+			writer.get();
+		}
+	}
+
+	private MethodHandle resolveReader() {
+		return getDirectReader().asType(READER_TYPE);
+	}
+
+	private MethodHandle resolveWriter() {
+		if (setter != null) {
+			return setter.getDirectHandle().asType(WRITER_TYPE);
+		}
+		if (field != null && !field.isFinal()) {
+			return field.getDirectSetter().asType(WRITER_TYPE);
+		}
+		throw new UnsupportedOperationException("Property " + name + " is not writable");
+	}
+
+	static List<IPropertyReflection> resolve(TypeMetadata metadata) {
+		Set<String> names = new LinkedHashSet<>();
+		Map<String, InstanceMethodReflection> getters = new HashMap<>();
+		Map<String, List<InstanceMethodReflection>> setters = new HashMap<>();
+		for (IInstanceFieldReflection field : metadata.getInstanceFields()) {
+			if (!((InstanceFieldReflection) field).getElement().isSynthetic()) {
+				names.add(field.getName());
+			}
+		}
+		for (IInstanceMethodReflection m : metadata.getInstanceMethods()) {
+			InstanceMethodReflection method = (InstanceMethodReflection) m;
+			Method element = method.getElement();
+			if (element.getDeclaringClass() == Object.class || element.isBridge() || element.isSynthetic()) {
+				continue;
+			}
+			String name = method.getPropertyName();
+			if (name == null) {
+				continue;
+			}
+			if (method.isGetter()) {
+				getters.put(name, method);
+				names.add(name);
+			} else if (method.isSetter()) {
+				setters.computeIfAbsent(name, key -> new ArrayList<>()).add(method);
+				names.add(name);
+			}
+		}
+		List<IPropertyReflection> result = new ArrayList<>();
+		for (String name : names) {
+			InstanceMethodReflection getter = getters.get(name);
+			InstanceFieldReflection field = (InstanceFieldReflection) metadata.findInstanceField(name);
+			Class<?> type = getter != null ? getter.getType() : field != null ? field.getType() : null;
+			InstanceMethodReflection setter = findSetter(setters.get(name), type);
+			if (field != null && type != null && field.getType() != type) {
+				field = null;
+			}
+			if (field != null || getter != null || setter != null) {
+				result.add(new PropertyReflection(name, field, getter, setter));
+			}
+		}
+		return result;
+	}
+
+	private static InstanceMethodReflection findSetter(List<InstanceMethodReflection> candidates, Class<?> type) {
+		if (candidates == null) {
+			return null;
+		}
+		InstanceMethodReflection result = null;
+		for (InstanceMethodReflection candidate : candidates) {
+			if (type == null || candidate.getElement().getParameterTypes()[0] == type) {
+				result = candidate;
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+public class ReflectionProcessor extends AbstractProcessor {
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(Reflected.class.getName());
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(Reflected.class)) {
+			if (!(element instanceof TypeElement) || element.getKind() == ElementKind.ANNOTATION_TYPE) {
+				error(element, "@Reflected is only applicable to classes, interfaces and enums");
+			} else if (!isAccessible((TypeElement) element)) {
+				error(element, "@Reflected type must not be private, local or anonymous");
+			} else {
+				generate((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				+ GeneratedReflection.SUFFIX;
+		String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+		List<VariableElement> fields = new ArrayList<>();
+		List<ExecutableElement> constructors = new ArrayList<>();
+		List<ExecutableElement> methods = new ArrayList<>();
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getModifiers().contains(Modifier.PRIVATE)) {
+				continue;
+			}
+			if (member.getKind() == ElementKind.FIELD || member.getKind() == ElementKind.ENUM_CONSTANT) {
+				fields.add((VariableElement) member);
+			} else if (member.getKind() == ElementKind.CONSTRUCTOR && isInstantiable(type)) {
+				constructors.add((ExecutableElement) member);
+			} else if (member.getKind() == ElementKind.METHOD) {
+				methods.add((ExecutableElement) member);
+			}
+		}
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		source.append("public final class ").append(simpleName)
+				.append(" extends ru.reflexio.GeneratedReflection<").append(typeName).append("> {\n\n");
+
+		source.append("\t@Override\n\tpublic Class<").append(typeName).append("> getType() {\n");
+		source.append("\t\treturn ").append(typeName).append(".class;\n\t}\n\n");
+
+		source.append("\t@Override\n\tpublic int findField(String name) {\n");
+		appendLookup(source, "name", fields, this::getName);
+
+		source.append("\t@Override\n\tpublic Object getValue(int field, Object target) {\n\t\tswitch (field) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			source.append("\t\tcase ").append(i).append(":\n\t\t\treturn ")
+					.append(access(typeName, fields.get(i), "target")).append(";\n");
+		}
+		source.append("\t\tdefault:\n\t\t\tthrow new IllegalArgumentException(\"Unknown field \" + field);\n\t\t}\n\t}\n\n");
+
+		source.append("\t@Override\n\tpublic void setValue(int field, Object target, Object value) {\n\t\tswitch (field) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			VariableElement field = fields.get(i);
+			if (!field.getModifiers().contains(Modifier.FINAL)) {
+				source.append("\t\tcase ").append(i).append(":\n\t\t\t").append(access(typeName, field, "target"))
+						.append(" = ").append(convert(field.asType(), "value")).append(";\n\t\t\treturn;\n");
+			}
+		}
+		source.append("\t\tdefault:\n\t\t\tthrow new IllegalArgumentException(\"Unknown field \" + field);\n\t\t}\n\t}\n\n");
+
+		source.append("\t@Override\n\tpublic int findConstructor(String signature) {\n");
+		appendLookup(source, "signature", constructors, this::getSignature);
+
+		source.append("\t@Override\n\tpublic ").append(typeName)
+				.append(" newInstance(int constructor, Object[] args) throws Throwable {\n\t\tswitch (constructor) {\n");
+		for (int i = 0; i < constructors.size(); i++) {
+			source.append("\t\tcase ").append(i).append(":\n\t\t\treturn new ").append(typeName)
+					.append(arguments(constructors.get(i))).append(";\n");
+		}
+		source.append("\t\tdefault:\n\t\t\tthrow new IllegalArgumentException(\"Unknown constructor \" + constructor);\n\t\t}\n\t}\n\n");
+
+		source.append("\t@Override\n\tpublic int findMethod(String signature) {\n");
+		appendLookup(source, "signature", methods, this::getSignature);
+
+		source.append("\t@Override\n\tpublic Object invoke(int method, Object target, Object[] args) throws Throwable {\n\t\tswitch (method) {\n");
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement method = methods.get(i);
+			String call = access(typeName, method, "target") + arguments(method);
+			source.append("\t\tcase ").append(i).append(":\n\t\t\t");
+			if (method.getReturnType().getKind() == TypeKind.VOID) {
+				source.append(call).append(";\n\t\t\treturn null;\n");
+			} else {
+				source.append("return ").append(call).append(";\n");
+			}
+		}
+		source.append("\t\tdefault:\n\t\t\tthrow new IllegalArgumentException(\"Unknown method \" + method);\n\t\t}\n\t}\n\n");
+		source.append("}\n");
+
+		String generatedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(generatedName, type).openWriter()) {
+			writer.write(source.toString());
+		} catch (IOException e) {
+			error(type, "Unable to generate " + generatedName + ": " + e.getMessage());
+		}
+	}
+
+	private <E extends Element> void appendLookup(StringBuilder source, String parameter, List<E> elements,
+			Function<E, String> key) {
+		source.append("\t\tswitch (").append(parameter).append(") {\n");
+		for (int i = 0; i < elements.size(); i++) {
+			source.append("\t\tcase \"").append(key.apply(elements.get(i))).append("\":\n\t\t\treturn ").append(i).append(";\n");
+		}
+		source.append("\t\tdefault:\n\t\t\treturn -1;\n\t\t}\n\t}\n\n");
+	}
+
+	private String access(String typeName, Element member, String target) {
+		String owner = member.getModifiers().contains(Modifier.STATIC) || member.getKind() == ElementKind.ENUM_CONSTANT
+				? typeName
+				: "((" + typeName + ") " + target + ")";
+		return owner + "." + member.getSimpleName();
+	}
+
+	private String arguments(ExecutableElement executable) {
+		StringBuilder result = new StringBuilder("(");
+		List<? extends VariableElement> parameters = executable.getParameters();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0) {
+				result.append(", ");
+			}
+			result.append(convert(parameters.get(i).asType(), "args[" + i + "]"));
+		}
+		return result.append(")").toString();
+	}
+
+	private String convert(TypeMirror type, String value) {
+		if (type.getKind().isPrimitive()) {
+			String name = type.getKind().name().toLowerCase();
+			return "to" + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "(" + value + ")";
+		}
+		return "(" + processingEnv.getTypeUtils().erasure(type) + ") " + value;
+	}
+
+	private String getName(Element element) {
+		return element.getSimpleName().toString();
+	}
+
+	private String getSignature(ExecutableElement executable) {
+		StringBuilder result = new StringBuilder();
+		if (executable.getKind() == ElementKind.METHOD) {
+			result.append(executable.getSimpleName());
+		}
+		result.append('(');
+		List<? extends VariableElement> parameters = executable.getParameters();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append(getTypeName(parameters.get(i).asType()));
+		}
+		return result.append(')').toString();
+	}
+
+	private String getTypeName(TypeMirror type) {
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+		if (erasure.getKind().isPrimitive()) {
+			return erasure.getKind().name().toLowerCase();
+		} else if (erasure.getKind() == TypeKind.ARRAY) {
+			return getTypeName(((ArrayType) erasure).getComponentType()) + "[]";
+		}
+		TypeElement element = (TypeElement) ((DeclaredType) erasure).asElement();
+		return processingEnv.getElementUtils().getBinaryName(element).toString();
+	}
+
+	private static boolean isInstantiable(TypeElement type) {
+		return type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+				&& (type.getNestingKind() == NestingKind.TOP_LEVEL || type.getModifiers().contains(Modifier.STATIC));
+	}
+
+	private static boolean isAccessible(TypeElement type) {
+		Element current = type;
+		while (current instanceof TypeElement) {
+			TypeElement element = (TypeElement) current;
+			if (element.getModifiers().contains(Modifier.PRIVATE) || element.getNestingKind() == NestingKind.LOCAL
+					|| element.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			current = element.getEnclosingElement();
+		}
+		return current instanceof PackageElement;
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+public final class ReflectionRegistry {
+
+	public static final String MAXIMUM_SIZE_PROPERTY = "reflexio.registry.maximumSize";
+
+	public static final class Statistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final long invalidationCount;
+		private final int size;
+		private final int maximumSize;
+
+		Statistics(long hitCount, long missCount, long evictionCount, long invalidationCount, int size,
+				int maximumSize) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.invalidationCount = invalidationCount;
+			this.size = size;
+			this.maximumSize = maximumSize;
+		}
+
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		public long getMissCount() {
+			return missCount;
+		}
+
+		public double getHitRate() {
+			long total = hitCount + missCount;
+			return total == 0 ? 1.0 : (double) hitCount / total;
+		}
+
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		public long getInvalidationCount() {
+			return invalidationCount;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+					+ ", invalidations=" + invalidationCount + ", size=" + size + "/" + maximumSize + "]";
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final TypeMetadata metadata;
+		private final List<Entry> supertypes = new ArrayList<>();
+		private volatile boolean referenced = true;
+		private volatile boolean registered;
+		private boolean removed;
+		private int dependents;
+
+		Entry(TypeMetadata metadata) {
+			this.metadata = metadata;
+		}
+
+	}
+
+	private static final class EntryReference extends WeakReference<Entry> {
+
+		private final List<Entry> supertypes;
+
+		EntryReference(Entry entry) {
+			super(entry);
+			supertypes = entry.supertypes;
+		}
+
+	}
+
+	private static final class Slot {
+
+		private final Map<InvocationBackend, Entry> entries = new EnumMap<>(InvocationBackend.class);
+		private final Map<InvocationBackend, Set<Entry>> waiting = new EnumMap<>(InvocationBackend.class);
+
+	}
+
+	private static final class Registry extends ClassValue<Entry> {
+
+		private final InvocationBackend backend;
+
+		Registry(InvocationBackend backend) {
+			this.backend = backend;
+		}
+
+		@Override
+		protected Entry computeValue(Class<?> type) {
+			MISSES.increment();
+			return new Entry(new TypeMetadata(type, backend));
+		}
+
+	}
+
+	private static final Registry REFLECTION_REGISTRY = new Registry(InvocationBackend.Reflection);
+	private static final Registry HANDLE_REGISTRY = new Registry(InvocationBackend.MethodHandle);
+
+	private static final ClassValue<Slot> SLOTS = new ClassValue<Slot>() {
+
+		@Override
+		protected Slot computeValue(Class<?> type) {
+			return new Slot();
+		}
+
+	};
+
+	private static final Object LOCK = new Object();
+	private static final List<EntryReference> ENTRIES = new ArrayList<>();
+	private static final LongAdder LOOKUPS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder EVICTIONS = new LongAdder();
+	private static final LongAdder INVALIDATIONS = new LongAdder();
+
+	private static volatile int maximumSize = Integer.getInteger(MAXIMUM_SIZE_PROPERTY, Integer.MAX_VALUE);
+	private static volatile int size;
+	private static int hand;
+
+	private ReflectionRegistry() {
+	}
+
+	static TypeMetadata get(Class<?> type, InvocationBackend backend) {
+		LOOKUPS.increment();
+		Entry entry = registry(backend).get(type);
+		if (!entry.registered) {
+			register(entry);
+		}
+		if (!entry.referenced) {
+			entry.referenced = true;
+		}
+		if (size > maximumSize) {
+			evict();
+		}
+		return entry.metadata;
+	}
+
+	public static int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public static void setMaximumSize(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+		}
+		ReflectionRegistry.maximumSize = maximumSize;
+		evict();
+	}
+
+	public static void invalidate(Class<?> type) {
+		if (type == null) {
+			throw new IllegalArgumentException();
+		}
+		invalidate(type::isAssignableFrom);
+		REFLECTION_REGISTRY.remove(type);
+		HANDLE_REGISTRY.remove(type);
+	}
+
+	public static void invalidate(ClassLoader loader) {
+		if (loader == null) {
+			throw new IllegalArgumentException();
+		}
+		invalidate(type -> isLoadedBy(type, loader));
+	}
+
+	public static void invalidateAll() {
+		invalidate(type -> true);
+	}
+
+	public static Statistics getStatistics() {
+		long misses = MISSES.sum();
+		long hits = Math.max(0, LOOKUPS.sum() - misses);
+		return new Statistics(hits, misses, EVICTIONS.sum(), INVALIDATIONS.sum(), size, maximumSize);
+	}
+
+	private static Registry registry(InvocationBackend backend) {
+		return backend == InvocationBackend.MethodHandle ? HANDLE_REGISTRY : REFLECTION_REGISTRY;
+	}
+
+	private static void register(Entry entry) {
+		synchronized (LOCK) {
+			if (entry.registered) {
+				return;
+			}
+			for (int i = ENTRIES.size() - 1; i >= 0; i--) {
+				if (ENTRIES.get(i).get() == null) {
+					release(ENTRIES.get(i).supertypes);
+					removeAt(i);
+				}
+			}
+			InvocationBackend backend = entry.metadata.getBackend();
+			Slot slot = SLOTS.get(entry.metadata.getType());
+			slot.entries.put(backend, entry);
+			Set<Entry> waiting = slot.waiting.remove(backend);
+			if (waiting != null) {
+				for (Entry dependent : waiting) {
+					if (!dependent.removed) {
+						link(dependent, entry);
+					}
+				}
+			}
+			for (Class<?> supertype : findSupertypes(entry.metadata.getType())) {
+				Slot superSlot = SLOTS.get(supertype);
+				Entry cached = superSlot.entries.get(backend);
+				if (cached != null) {
+					link(entry, cached);
+				} else {
+					superSlot.waiting.computeIfAbsent(backend, b -> Collections.newSetFromMap(new WeakHashMap<>()))
+							.add(entry);
+				}
+			}
+			ENTRIES.add(new EntryReference(entry));
+			entry.registered = true;
+			size = ENTRIES.size();
+		}
+	}
+
+	private static void link(Entry dependent, Entry supertype) {
+		dependent.supertypes.add(supertype);
+		supertype.dependents++;
+	}
+
+	private static void release(List<Entry> supertypes) {
+		for (Entry supertype : supertypes) {
+			supertype.dependents--;
+		}
+		supertypes.clear();
+	}
+
+	private static Set<Class<?>> findSupertypes(Class<?> type) {
+		Set<Class<?>> result = new LinkedHashSet<>();
+		collectSupertypes(type, result);
+		return result;
+	}
+
+	private static void collectSupertypes(Class<?> type, Set<Class<?>> result) {
+		Class<?> superclass = type.getSuperclass();
+		if (superclass != null && result.add(superclass)) {
+			collectSupertypes(superclass, result);
+		}
+		for (Class<?> superinterface : type.getInterfaces()) {
+			if (result.add(superinterface)) {
+				collectSupertypes(superinterface, result);
+			}
+		}
+	}
+
+	private static void evict() {
+		synchronized (LOCK) {
+			while (ENTRIES.size() > maximumSize) {
+				if (hand >= ENTRIES.size()) {
+					hand = 0;
+				}
+				Entry entry = ENTRIES.get(hand).get();
+				if (entry == null) {
+					release(ENTRIES.get(hand).supertypes);
+					removeAt(hand);
+				} else if (entry.referenced) {
+					entry.referenced = false;
+					hand++;
+				} else if (entry.dependents > 0) {
+					hand++;
+				} else {
+					removeAt(hand);
+					remove(entry);
+					EVICTIONS.increment();
+				}
+			}
+			size = ENTRIES.size();
+		}
+	}
+
+	private static void invalidate(Predicate<Class<?>> filter) {
+		synchronized (LOCK) {
+			for (int i = ENTRIES.size() - 1; i >= 0; i--) {
+				Entry entry = ENTRIES.get(i).get();
+				if (entry == null) {
+					release(ENTRIES.get(i).supertypes);
+					removeAt(i);
+				} else if (filter.test(entry.metadata.getType())) {
+					removeAt(i);
+					remove(entry);
+					INVALIDATIONS.increment();
+				}
+			}
+			size = ENTRIES.size();
+		}
+	}
+
+	private static void removeAt(int index) {
+		int last = ENTRIES.size() - 1;
+		ENTRIES.set(index, ENTRIES.get(last));
+		ENTRIES.remove(last);
+	}
+
+	private static void remove(Entry entry) {
+		entry.removed = true;
+		release(entry.supertypes);
+		Map<InvocationBackend, Entry> entries = SLOTS.get(entry.metadata.getType()).entries;
+		if (entries.get(entry.metadata.getBackend()) == entry) {
+			entries.remove(entry.metadata.getBackend());
+		}
+		registry(entry.metadata.getBackend()).remove(entry.metadata.getType());
+	}
+
+	private static boolean isLoadedBy(Class<?> type, ClassLoader loader) {
+		for (ClassLoader current = type.getClassLoader(); current != null; current = current.getParent()) {
+			if (current == loader) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public final class ReflectionWarmup {
+
+	public static final class Timing {
+
+		private final Class<?> type;
+		private final long nanos;
+		private final int memberCount;
+		private final Throwable failure;
+
+		Timing(Class<?> type, long nanos, int memberCount, Throwable failure) {
+			this.type = type;
+			this.nanos = nanos;
+			this.memberCount = memberCount;
+			this.failure = failure;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public long getTime(TimeUnit unit) {
+			return unit.convert(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		public int getMemberCount() {
+			return memberCount;
+		}
+
+		public boolean isSuccessful() {
+			return failure == null;
+		}
+
+		public Throwable getFailure() {
+			return failure;
+		}
+
+		@Override
+		public String toString() {
+			return "Timing[" + type.getName() + ", " + nanos + "ns, members=" + memberCount
+					+ (failure == null ? "" : ", failure=" + failure) + "]";
+		}
+
+	}
+
+	private ReflectionWarmup() {
+	}
+
+	public static List<Timing> preload(Collection<Class<?>> types, Executor executor) {
+		return preload(types, TypeReflection.getDefaultBackend(), executor);
+	}
+
+	public static List<Timing> preload(Collection<Class<?>> types, InvocationBackend backend, Executor executor) {
+		if (types == null || backend == null || executor == null) {
+			throw new IllegalArgumentException();
+		}
+		List<CompletableFuture<Timing>> tasks = new ArrayList<>(types.size());
+		for (Class<?> type : types) {
+			if (type == null) {
+				throw new IllegalArgumentException();
+			}
+			tasks.add(CompletableFuture.supplyAsync(() -> prepare(type, backend), executor));
+		}
+		List<Timing> result = new ArrayList<>(tasks.size());
+		for (CompletableFuture<Timing> task : tasks) {
+			try {
+				result.add(task.join());
+			} catch (CompletionException e) {
+				throw MemberReflection.rethrow(e.getCause());
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static Timing prepare(Class<?> type, InvocationBackend backend) {
+		long start = System.nanoTime();
+		try {
+			int memberCount = TypeMetadata.of(type, backend).prepare();
+			return new Timing(type, System.nanoTime() - start, memberCount, null);
+		} catch (RuntimeException | LinkageError e) {
+			return new Timing(type, System.nanoTime() - start, 0, e);
+		}
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+final class SignatureCache<V> {
+
+	private static final int MAX_SIZE = 64;
+
+	static final class Entry<V> {
+
+		private final Class<?>[] types;
+		private final int hash;
+		private final V value;
+		private final Entry<V> next;
+
+		private Entry(Class<?>[] types, int hash, V value, Entry<V> next) {
+			this.types = types;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+
+		V getValue() {
+			return value;
+		}
+
+	}
+
+	private final ClassLoader loader;
+	private volatile Entry<V>[] table = newTable(8);
+	private int size;
+
+	SignatureCache(Class<?> owner) {
+		loader = owner.getClassLoader();
+	}
+
+	Entry<V> findByArguments(Object[] args) {
+		int hash = 1;
+		for (Object arg : args) {
+			hash = 31 * hash + (arg == null ? 0 : arg.getClass().hashCode());
+		}
+		Entry<V>[] entries = table;
+		for (Entry<V> entry = entries[hash & (entries.length - 1)]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && matchesArguments(entry.types, args)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	Entry<V> findByTypes(Class<?>[] types) {
+		int hash = hash(types);
+		Entry<V>[] entries = table;
+		for (Entry<V> entry = entries[hash & (entries.length - 1)]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && matchesTypes(entry.types, types)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	synchronized void put(Class<?>[] types, V value) {
+		if (size >= MAX_SIZE || !isVisible(types) || findByTypes(types) != null) {
+			return;
+		}
+		Entry<V>[] entries = table;
+		int length = size + 1 > entries.length * 3 / 4 ? entries.length * 2 : entries.length;
+		Entry<V>[] result = newTable(length);
+		for (Entry<V> head : entries) {
+			for (Entry<V> entry = head; entry != null; entry = entry.next) {
+				int i = entry.hash & (length - 1);
+				result[i] = new Entry<>(entry.types, entry.hash, entry.value, result[i]);
+			}
+		}
+		int hash = hash(types);
+		int i = hash & (length - 1);
+		result[i] = new Entry<>(types.clone(), hash, value, result[i]);
+		size++;
+		table = result;
+	}
+
+	private boolean isVisible(Class<?>[] types) {
+		for (Class<?> type : types) {
+			ClassLoader typeLoader = type == null ? null : type.getClassLoader();
+			if (typeLoader != null && !isAncestor(typeLoader)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isAncestor(ClassLoader typeLoader) {
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == typeLoader) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int hash(Class<?>[] types) {
+		int hash = 1;
+		for (Class<?> type : types) {
+			hash = 31 * hash + (type == null ? 0 : type.hashCode());
+		}
+		return hash;
+	}
+
+	private static boolean matchesArguments(Class<?>[] types, Object[] args) {
+		if (types.length != args.length) {
+			return false;
+		}
+		for (int i = 0; i < types.length; i++) {
+			Object arg = args[i];
+			if (types[i] != (arg == null ? null : arg.getClass())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matchesTypes(Class<?>[] types, Class<?>[] other) {
+		if (types.length != other.length) {
+			return false;
+		}
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] != other[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Entry<V>[] newTable(int length) {
+		return new Entry[length];
+	}
+
+}
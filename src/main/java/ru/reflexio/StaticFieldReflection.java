@@ -30,8 +30,8 @@ import java.lang.reflect.Method;
 
 class StaticFieldReflection extends FieldReflection implements IStaticFieldReflection {
 
-    StaticFieldReflection(Field field) {
-        super(field);
+    StaticFieldReflection(Field field, InvocationBackend backend) {
+        super(field, backend);
         if (!isStatic()) {
             throw new IllegalArgumentException();
         }
@@ -47,11 +47,46 @@ class StaticFieldReflection extends FieldReflection implements IStaticFieldRefle
         super.setValue(null, value);
     }
 
+    @Override
+    public Object getVolatile() {
+        return super.getVolatile(null);
+    }
+
+    @Override
+    public void setVolatile(Object value) {
+        super.setVolatile(null, value);
+    }
+
+    @Override
+    public Object getOpaque() {
+        return super.getOpaque(null);
+    }
+
+    @Override
+    public void setRelease(Object value) {
+        super.setRelease(null, value);
+    }
+
+    @Override
+    public boolean compareAndSet(Object expected, Object value) {
+        return super.compareAndSet(null, expected, value);
+    }
+
+    @Override
+    public Object getAndSet(Object value) {
+        return super.getAndSet(null, value);
+    }
+
+    @Override
+    public Object getAndAdd(Object delta) {
+        return super.getAndAdd(null, delta);
+    }
+
     @Override
     public IStaticMethodReflection getGetter() {
         try {
             Method method = getElement().getDeclaringClass().getDeclaredMethod(getGetterName());
-            return new StaticMethodReflection(method);
+            return new StaticMethodReflection(method, getBackend());
         } catch (NoSuchMethodException ignore) {}
         return null;
     }
@@ -60,7 +95,7 @@ class StaticFieldReflection extends FieldReflection implements IStaticFieldRefle
     public IStaticMethodReflection getSetter() {
         try {
             Method method = getElement().getDeclaringClass().getDeclaredMethod(getSetterName(), getType());
-            return new StaticMethodReflection(method);
+            return new StaticMethodReflection(method, getBackend());
         } catch (NoSuchMethodException ignore) {}
         return null;
     }
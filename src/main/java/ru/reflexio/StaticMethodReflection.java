@@ -29,8 +29,8 @@ import java.lang.reflect.Method;
 
 class StaticMethodReflection extends MethodReflection implements IStaticMethodReflection {
 
-    StaticMethodReflection(Method method) {
-        super(method);
+    StaticMethodReflection(Method method, InvocationBackend backend) {
+        super(method, backend);
         if (!isStatic()) {
             throw new IllegalArgumentException();
         }
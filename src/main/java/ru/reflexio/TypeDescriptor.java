@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+public final class TypeDescriptor {
+
+	private static final int ANNOTATION = 0x2000;
+	private static final int ENUM = 0x4000;
+
+	private final String name;
+	private final String superclassName;
+	private final List<String> interfaceNames;
+	private final int modifiers;
+	private final List<String> annotationNames;
+	private final List<String> memberAnnotationNames;
+	private final Path source;
+
+	TypeDescriptor(String name, String superclassName, List<String> interfaceNames, int modifiers,
+			List<String> annotationNames, List<String> memberAnnotationNames, Path source) {
+		this.name = name;
+		this.superclassName = superclassName;
+		this.interfaceNames = freeze(interfaceNames);
+		this.modifiers = modifiers;
+		this.annotationNames = freeze(annotationNames);
+		this.memberAnnotationNames = freeze(memberAnnotationNames);
+		this.source = source;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPackageName() {
+		int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index);
+	}
+
+	public String getSuperclassName() {
+		return superclassName;
+	}
+
+	public List<String> getInterfaceNames() {
+		return interfaceNames;
+	}
+
+	public int getModifiers() {
+		return modifiers;
+	}
+
+	public boolean isInterface() {
+		return Modifier.isInterface(modifiers);
+	}
+
+	public boolean isAbstract() {
+		return Modifier.isAbstract(modifiers);
+	}
+
+	public boolean isAnnotation() {
+		return (modifiers & ANNOTATION) != 0;
+	}
+
+	public boolean isEnum() {
+		return (modifiers & ENUM) != 0;
+	}
+
+	public List<String> getAnnotationNames() {
+		return annotationNames;
+	}
+
+	public List<String> getMemberAnnotationNames() {
+		return memberAnnotationNames;
+	}
+
+	public boolean isAnnotatedWith(Class<? extends Annotation> annotationType) {
+		return annotationNames.contains(annotationType.getName());
+	}
+
+	public boolean hasMemberAnnotatedWith(Class<? extends Annotation> annotationType) {
+		return memberAnnotationNames.contains(annotationType.getName());
+	}
+
+	public Path getSource() {
+		return source;
+	}
+
+	public Class<?> load(ClassLoader loader) {
+		try {
+			return Class.forName(name, false, loader);
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public TypeReflection<?> toReflection(ClassLoader loader) {
+		return new TypeReflection<>(load(loader));
+	}
+
+	public TypeReflection<?> toReflection() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return toReflection(loader == null ? TypeDescriptor.class.getClassLoader() : loader);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	private static List<String> freeze(List<String> list) {
+		return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(list);
+	}
+
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class TypeMetadata {
+
+	private static final int MAX_PROPERTY_PATHS = 256;
+
+	static TypeMetadata of(Class<?> type, InvocationBackend backend) {
+		if (type == null || backend == null) {
+			throw new IllegalArgumentException();
+		}
+		return ReflectionRegistry.get(type, backend);
+	}
+
+	private final Class<?> type;
+	private final InvocationBackend backend;
+
+	private final Lazy<List<IConstructorReflection<?>>> constructors = new Lazy<>(this::resolveConstructors);
+	private final Lazy<List<ITypeReflection<?>>> typeHierarchy = new Lazy<>(this::resolveTypeHierarchy);
+	private final Lazy<TypeMetadata[]> chain = new Lazy<>(this::resolveChain);
+	private final Lazy<TypeMetadata[]> linearization = new Lazy<>(this::resolveLinearization);
+	private final Lazy<TypeMetadata[]> declarationOrder = new Lazy<>(() -> reverse(linearization.get()));
+	private final Lazy<List<ITypeReflection<?>>> linearizedTypes = new Lazy<>(this::resolveLinearizedTypes);
+	private final Lazy<ITypeReflection<?>> reflection = new Lazy<>(() -> new TypeReflection<>(getType(), getBackend()));
+
+	private final Lazy<List<IStaticFieldReflection>> staticTypeFields = new Lazy<>(this::resolveStaticTypeFields);
+	private final Lazy<List<IInstanceFieldReflection>> instanceTypeFields = new Lazy<>(this::resolveInstanceTypeFields);
+	private final Lazy<List<IStaticMethodReflection>> staticTypeMethods = new Lazy<>(this::resolveStaticTypeMethods);
+	private final Lazy<List<IInstanceMethodReflection>> instanceTypeMethods = new Lazy<>(this::resolveInstanceTypeMethods);
+
+	private final Lazy<List<IStaticFieldReflection>> staticFields =
+			new Lazy<>(() -> inherit(declarationOrder.get(), TypeMetadata::getStaticTypeFields));
+	private final Lazy<List<IInstanceFieldReflection>> instanceFields =
+			new Lazy<>(() -> inherit(declarationOrder.get(), TypeMetadata::getInstanceTypeFields));
+	private final Lazy<List<IStaticMethodReflection>> staticMethods =
+			new Lazy<>(() -> inherit(chain.get(), TypeMetadata::getStaticTypeMethods));
+	private final Lazy<List<IInstanceMethodReflection>> instanceMethods =
+			new Lazy<>(() -> inherit(declarationOrder.get(), TypeMetadata::getInstanceTypeMethods));
+
+	private final Lazy<Map<String, IStaticFieldReflection>> staticFieldIndex =
+			new Lazy<>(() -> index(declarationOrder.get(), TypeMetadata::getStaticTypeFields));
+	private final Lazy<Map<String, IInstanceFieldReflection>> instanceFieldIndex =
+			new Lazy<>(() -> index(declarationOrder.get(), TypeMetadata::getInstanceTypeFields));
+	private final Lazy<Map<String, IStaticMethodReflection>> staticMethodIndex =
+			new Lazy<>(() -> index(chain.get(), TypeMetadata::getStaticTypeMethods));
+	private final Lazy<Map<String, IInstanceMethodReflection>> instanceMethodIndex =
+			new Lazy<>(() -> index(declarationOrder.get(), TypeMetadata::getInstanceTypeMethods));
+
+	private final Lazy<List<IPropertyReflection>> properties = new Lazy<>(() -> freeze(PropertyReflection.resolve(this)));
+	private final Lazy<Map<String, IPropertyReflection>> propertyIndex = new Lazy<>(this::resolvePropertyIndex);
+
+	private final Lazy<AnnotationIndex> annotationIndex = new Lazy<>(() -> new AnnotationIndex(this));
+	private final Lazy<MethodTable> methodTable = new Lazy<>(() -> new MethodTable(this));
+
+	private final SignatureCache<IConstructorReflection<?>> constructorCache;
+
+	private final Lazy<Map<TypeVariable<?>, IGenericTypeReflection>> typeBindings =
+			new Lazy<>(() -> GenericTypeReflection.bind(getType(), getBackend()));
+	private final Map<Type, IGenericTypeReflection> genericTypes = new ConcurrentHashMap<>();
+	private final Map<String, IPropertyPathReflection> propertyPaths = new ConcurrentHashMap<>();
+
+	TypeMetadata(Class<?> type, InvocationBackend backend) {
+		this.type = type;
+		this.backend = backend;
+		constructorCache = new SignatureCache<>(type);
+	}
+
+	Class<?> getType() {
+		return type;
+	}
+
+	InvocationBackend getBackend() {
+		return backend;
+	}
+
+	TypeMetadata getSuperMetadata() {
+		Class<?> superclass = type.getSuperclass();
+		return superclass == null ? null : of(superclass, backend);
+	}
+
+	List<IConstructorReflection<?>> getConstructors() {
+		return constructors.get();
+	}
+
+	List<ITypeReflection<?>> getTypeHierarchy() {
+		return typeHierarchy.get();
+	}
+
+	ITypeReflection<?> getReflection() {
+		return reflection.get();
+	}
+
+	Stream<ITypeReflection<?>> streamTypeHierarchy() {
+		return Arrays.stream(chain.get()).map(TypeMetadata::getReflection);
+	}
+
+	<R> Stream<R> streamHierarchy(Function<TypeMetadata, List<R>> level) {
+		return StreamSupport.stream(new HierarchySpliterator<>(chain.get(), level), false);
+	}
+
+	<R> Stream<R> streamLinearization(Function<TypeMetadata, List<R>> level) {
+		return StreamSupport.stream(new HierarchySpliterator<>(declarationOrder.get(), level), false);
+	}
+
+	List<ITypeReflection<?>> getLinearization() {
+		return linearizedTypes.get();
+	}
+
+	List<IStaticFieldReflection> getStaticTypeFields() {
+		return staticTypeFields.get();
+	}
+
+	List<IInstanceFieldReflection> getInstanceTypeFields() {
+		return instanceTypeFields.get();
+	}
+
+	List<IStaticMethodReflection> getStaticTypeMethods() {
+		return staticTypeMethods.get();
+	}
+
+	List<IInstanceMethodReflection> getInstanceTypeMethods() {
+		return instanceTypeMethods.get();
+	}
+
+	List<IStaticFieldReflection> getStaticFields() {
+		return staticFields.get();
+	}
+
+	List<IInstanceFieldReflection> getInstanceFields() {
+		return instanceFields.get();
+	}
+
+	List<IStaticMethodReflection> getStaticMethods() {
+		return staticMethods.get();
+	}
+
+	List<IInstanceMethodReflection> getInstanceMethods() {
+		return instanceMethods.get();
+	}
+
+	List<IPropertyReflection> getProperties() {
+		return properties.get();
+	}
+
+	IPropertyReflection findProperty(String name) {
+		return propertyIndex.get().get(name);
+	}
+
+	AnnotationIndex getAnnotationIndex() {
+		return annotationIndex.get();
+	}
+
+	MethodTable getMethodTable() {
+		return methodTable.get();
+	}
+
+	IGenericTypeReflection getGenericType(Type genericType) {
+		IGenericTypeReflection result = genericTypes.get(genericType);
+		if (result == null) {
+			result = GenericTypeReflection.resolve(genericType, typeBindings.get(), backend);
+			IGenericTypeReflection existing = genericTypes.putIfAbsent(genericType, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	IPropertyPathReflection compilePropertyPath(String path) {
+		if (path == null) {
+			throw new IllegalArgumentException();
+		}
+		IPropertyPathReflection result = propertyPaths.get(path);
+		if (result == null) {
+			result = new PropertyPathReflection(this, path);
+			if (propertyPaths.size() >= MAX_PROPERTY_PATHS) {
+				return result;
+			}
+			IPropertyPathReflection existing = propertyPaths.putIfAbsent(path, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	IConstructorReflection<?> findConstructor(Class<?>[] types) {
+		SignatureCache.Entry<IConstructorReflection<?>> entry = constructorCache.findByTypes(types);
+		if (entry != null) {
+			return entry.getValue();
+		}
+		IConstructorReflection<?> result = resolveConstructor(types);
+		constructorCache.put(types, result);
+		return result;
+	}
+
+	IConstructorReflection<?> matchConstructor(Object[] args) {
+		SignatureCache.Entry<IConstructorReflection<?>> entry = constructorCache.findByArguments(args);
+		if (entry != null) {
+			return entry.getValue();
+		}
+		Class<?>[] types = new Class<?>[args.length];
+		for (int i = 0; i < args.length; i++) {
+			Object arg = args[i];
+			types[i] = arg == null ? null : arg.getClass();
+		}
+		return findConstructor(types);
+	}
+
+	IStaticFieldReflection findStaticField(String name) {
+		return staticFieldIndex.get().get(name);
+	}
+
+	IInstanceFieldReflection findInstanceField(String name) {
+		return instanceFieldIndex.get().get(name);
+	}
+
+	IStaticMethodReflection findStaticMethod(String name) {
+		return staticMethodIndex.get().get(name);
+	}
+
+	IInstanceMethodReflection findInstanceMethod(String name) {
+		return instanceMethodIndex.get().get(name);
+	}
+
+	int prepare() {
+		linearizedTypes.get();
+		staticFieldIndex.get();
+		instanceFieldIndex.get();
+		staticMethodIndex.get();
+		instanceMethodIndex.get();
+		propertyIndex.get();
+		annotationIndex.get();
+		methodTable.get();
+		int count = prepare(getStaticFields()) + prepare(getInstanceFields()) + prepare(getStaticMethods())
+				+ prepare(getInstanceMethods()) + prepare(getConstructors());
+		for (IPropertyReflection property : getProperties()) {
+			try {
+				((PropertyReflection) property).prepare();
+				count++;
+			} catch (RuntimeException ignore) {}
+		}
+		return count;
+	}
+
+	private static int prepare(List<? extends IReflection> members) {
+		int count = 0;
+		for (IReflection member : members) {
+			try {
+				if (member instanceof MemberReflection) {
+					((MemberReflection<?>) member).prepare();
+				}
+				count++;
+			} catch (RuntimeException ignore) {}
+		}
+		return count;
+	}
+
+	private List<IConstructorReflection<?>> resolveConstructors() {
+		List<IConstructorReflection<?>> result = new ArrayList<>();
+		if (type.isArray()) {
+			result.add(new ArrayConstructorReflection.Empty<>(type));
+			result.add(new ArrayConstructorReflection.Length<>(type));
+		} else if (type.isPrimitive()) {
+			Primitive primitive = Primitive.findByPrimitiveType(type);
+			if (primitive != null) {
+				for (Constructor<?> ctor : primitive.getBoxedType().getDeclaredConstructors()) {
+					result.add(new ConstructorReflection<>(ctor, backend));
+				}
+			}
+		} else {
+			for (Constructor<?> ctor : type.getDeclaredConstructors()) {
+				result.add(new ConstructorReflection<>(ctor, backend));
+			}
+		}
+		return freeze(result);
+	}
+
+	private Map<String, IPropertyReflection> resolvePropertyIndex() {
+		Map<String, IPropertyReflection> result = new HashMap<>();
+		for (IPropertyReflection property : getProperties()) {
+			result.put(property.getName(), property);
+		}
+		return result;
+	}
+
+	private IConstructorReflection<?> resolveConstructor(Class<?>[] types) {
+		for (IConstructorReflection<?> ctor : getConstructors()) {
+			if (canInvokeStrictly(ctor, types)) {
+				return ctor;
+			}
+		}
+		for (IConstructorReflection<?> ctor : getConstructors()) {
+			if (ctor.canInvoke(types)) {
+				return ctor;
+			}
+		}
+		return null;
+	}
+
+	private static boolean canInvokeStrictly(IConstructorReflection<?> ctor, Class<?>[] types) {
+		if (ctor instanceof ExecutableReflection) {
+			return ((ExecutableReflection<?>) ctor).canInvoke(types, false);
+		}
+		return ctor.canInvoke(types);
+	}
+
+	private List<ITypeReflection<?>> resolveTypeHierarchy() {
+		TypeMetadata superMetadata = getSuperMetadata();
+		List<ITypeReflection<?>> result = new ArrayList<>();
+		if (superMetadata != null) {
+			result.addAll(superMetadata.getTypeHierarchy());
+		}
+		result.add(getReflection());
+		return freeze(result);
+	}
+
+	private TypeMetadata[] resolveChain() {
+		TypeMetadata superMetadata = getSuperMetadata();
+		if (superMetadata == null) {
+			return new TypeMetadata[] { this };
+		}
+		TypeMetadata[] superChain = superMetadata.chain.get();
+		TypeMetadata[] result = Arrays.copyOf(superChain, superChain.length + 1);
+		result[superChain.length] = this;
+		return result;
+	}
+
+	private TypeMetadata[] resolveLinearization() {
+		List<List<TypeMetadata>> sequences = new ArrayList<>();
+		List<TypeMetadata> direct = new ArrayList<>();
+		Class<?> superclass = type.getSuperclass();
+		if (superclass != null && superclass != Object.class) {
+			direct.add(of(superclass, backend));
+		}
+		for (Class<?> superinterface : type.getInterfaces()) {
+			direct.add(of(superinterface, backend));
+		}
+		for (TypeMetadata supertype : direct) {
+			List<TypeMetadata> sequence = new ArrayList<>(Arrays.asList(supertype.linearization.get()));
+			if (sequence.get(sequence.size() - 1).getType() == Object.class) {
+				sequence.remove(sequence.size() - 1);
+			}
+			sequences.add(sequence);
+		}
+		sequences.add(direct);
+		List<TypeMetadata> result = new ArrayList<>();
+		result.add(this);
+		merge(sequences, result);
+		if (superclass != null) {
+			result.add(of(Object.class, backend));
+		}
+		return result.toArray(new TypeMetadata[0]);
+	}
+
+	private static void merge(List<List<TypeMetadata>> sequences, List<TypeMetadata> result) {
+		while (true) {
+			sequences.removeIf(List::isEmpty);
+			if (sequences.isEmpty()) {
+				return;
+			}
+			TypeMetadata head = null;
+			for (List<TypeMetadata> sequence : sequences) {
+				TypeMetadata candidate = sequence.get(0);
+				if (!inTail(sequences, candidate)) {
+					head = candidate;
+					break;
+				}
+			}
+			if (head == null) {
+				head = sequences.get(0).get(0);
+			}
+			result.add(head);
+			for (List<TypeMetadata> sequence : sequences) {
+				sequence.remove(head);
+			}
+		}
+	}
+
+	private static boolean inTail(List<List<TypeMetadata>> sequences, TypeMetadata candidate) {
+		for (List<TypeMetadata> sequence : sequences) {
+			if (sequence.indexOf(candidate) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static TypeMetadata[] reverse(TypeMetadata[] order) {
+		TypeMetadata[] result = new TypeMetadata[order.length];
+		for (int i = 0; i < order.length; i++) {
+			result[i] = order[order.length - 1 - i];
+		}
+		return result;
+	}
+
+	private List<ITypeReflection<?>> resolveLinearizedTypes() {
+		List<ITypeReflection<?>> result = new ArrayList<>();
+		for (TypeMetadata metadata : linearization.get()) {
+			result.add(metadata.getReflection());
+		}
+		return freeze(result);
+	}
+
+	private List<IStaticFieldReflection> resolveStaticTypeFields() {
+		List<IStaticFieldReflection> result = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				result.add(new StaticFieldReflection(field, backend));
+			}
+		}
+		return freeze(result);
+	}
+
+	private List<IInstanceFieldReflection> resolveInstanceTypeFields() {
+		List<IInstanceFieldReflection> result = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				result.add(new InstanceFieldReflection(field, backend));
+			}
+		}
+		return freeze(result);
+	}
+
+	private List<IStaticMethodReflection> resolveStaticTypeMethods() {
+		List<IStaticMethodReflection> result = new ArrayList<>();
+		for (Method method : type.getDeclaredMethods()) {
+			if (Modifier.isStatic(method.getModifiers())) {
+				result.add(new StaticMethodReflection(method, backend));
+			}
+		}
+		return freeze(result);
+	}
+
+	private List<IInstanceMethodReflection> resolveInstanceTypeMethods() {
+		List<IInstanceMethodReflection> result = new ArrayList<>();
+		for (Method method : type.getDeclaredMethods()) {
+			if (!Modifier.isStatic(method.getModifiers())) {
+				result.add(new InstanceMethodReflection(method, backend));
+			}
+		}
+		return freeze(result);
+	}
+
+	private <R> List<R> inherit(TypeMetadata[] order, Function<TypeMetadata, List<R>> level) {
+		if (order.length == 1) {
+			return level.apply(order[0]);
+		}
+		List<R> result = new ArrayList<>();
+		for (TypeMetadata metadata : order) {
+			result.addAll(level.apply(metadata));
+		}
+		return freeze(result);
+	}
+
+	private static <R extends IReflection> Map<String, R> index(TypeMetadata[] order,
+			Function<TypeMetadata, List<R>> level) {
+		Map<String, R> result = new HashMap<>();
+		for (TypeMetadata metadata : order) {
+			Map<String, R> own = new HashMap<>();
+			for (R member : level.apply(metadata)) {
+				own.putIfAbsent(member.getName(), member);
+			}
+			result.putAll(own);
+		}
+		return result;
+	}
+
+	private static <R> List<R> freeze(List<R> list) {
+		if (list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+}
@@ -25,17 +25,39 @@
  */
 package ru.reflexio;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class TypeReflection<T> extends AnnotatedReflection<Class<T>> implements ITypeReflection<T> {
 	
+	private static volatile InvocationBackend defaultBackend = InvocationBackend.Reflection;
+
+	public static InvocationBackend getDefaultBackend() {
+		return defaultBackend;
+	}
+
+	public static void setDefaultBackend(InvocationBackend backend) {
+		if (backend == null) {
+			throw new IllegalArgumentException();
+		}
+		defaultBackend = backend;
+	}
+
+	private final TypeMetadata metadata;
+
 	public TypeReflection(Class<T> cl) {
+		this(cl, defaultBackend);
+	}
+
+	public TypeReflection(Class<T> cl, InvocationBackend backend) {
 		super(cl);
+		metadata = TypeMetadata.of(cl, backend);
+	}
+
+	public InvocationBackend getBackend() {
+		return metadata.getBackend();
 	}
 
 	@Override
@@ -53,61 +75,37 @@ public class TypeReflection<T> extends AnnotatedReflection<Class<T>> implements
 		return getElement();
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public T instantiate(Object... args) {
-		Class<?>[] types = new Class<?>[args.length];
-		for (int i = 0; i < args.length; i++) {
-			Object arg = args[i];
-			types[i] = arg == null ? null : arg.getClass();
-		}
-		IConstructorReflection<T> ctor = findConstructor(types);
+		IConstructorReflection<T> ctor = (IConstructorReflection<T>) metadata.matchConstructor(args);
 		if (ctor != null) {
 			return ctor.invoke(args);
 		}
 		return null;
 	}
 
-	@SuppressWarnings("unchecked")
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public List<IConstructorReflection<T>> getConstructors() {
-		List<IConstructorReflection<T>> result = new ArrayList<>();
-		if (getElement().isArray()) {
-			result.add(new ArrayConstructorReflection.Empty<>(getElement()));
-			result.add(new ArrayConstructorReflection.Length<>(getElement()));
-		} else if (getElement().isPrimitive()) {
-			Primitive primitive = Primitive.findByPrimitiveType(getElement());
-			if (primitive != null) {
-				for (Constructor<?> ctor : primitive.getBoxedType().getDeclaredConstructors()) {
-					result.add(new ConstructorReflection<>((Constructor<T>) ctor));
-				}
-			}
-		} else {
-			for (Constructor<?> ctor : getElement().getDeclaredConstructors()) {
-				result.add(new ConstructorReflection<>((Constructor<T>) ctor));
-			}
-		}
-		return result;
+		return (List) metadata.getConstructors();
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public IConstructorReflection<T> findConstructor(Class<?>... types) {
-		for (IConstructorReflection<T> ctor : getConstructors()) {
-			if (ctor.canInvoke(types)) {
-				return ctor;
-			}
-		}
-		return null;
+		return (IConstructorReflection<T>) metadata.findConstructor(types);
 	}
 
 	@Override
 	public IConstructorReflection<T> findDefaultConstructor() {
 		IConstructorReflection<T> least = null;
 		for (IConstructorReflection<T> ctor : getConstructors()) {
-			List<IParameterReflection> params = ctor.getParameters();
-			if (params.isEmpty()) {
+			int count = ctor.getParameterCount();
+			if (count == 0) {
 				return ctor;
 			}
-			if (least == null || params.size() < least.getParameters().size()) {
+			if (least == null || count < least.getParameterCount()) {
 				least = ctor;
 			}
 		}
@@ -116,167 +114,159 @@ public class TypeReflection<T> extends AnnotatedReflection<Class<T>> implements
 
 	@Override
 	public List<ITypeReflection<?>> getTypeHierarchy() {
-		List<ITypeReflection<?>> result = new ArrayList<>();
-		walkTypeHierarchy(cl -> result.add(0, new TypeReflection<>(cl)));
-		return result;
+		return metadata.getTypeHierarchy();
 	}
 
 	@Override
 	public List<IStaticMethodReflection> getStaticTypeMethods() {
-		List<IStaticMethodReflection> result = new ArrayList<>();
-		for (Method method : getElement().getDeclaredMethods()) {
-			if (Modifier.isStatic(method.getModifiers())) {
-				result.add(new StaticMethodReflection(method));
-			}
-		}
-		return result;
+		return metadata.getStaticTypeMethods();
 	}
 
 	@Override
 	public List<IInstanceMethodReflection> getInstanceTypeMethods() {
-		List<IInstanceMethodReflection> result = new ArrayList<>();
-		for (Method method : getElement().getDeclaredMethods()) {
-			if (!Modifier.isStatic(method.getModifiers())) {
-				result.add(new InstanceMethodReflection(method));
-			}
-		}
-		return result;
+		return metadata.getInstanceTypeMethods();
 	}
 
 	@Override
 	public List<IStaticMethodReflection> getStaticMethods() {
-		List<IStaticMethodReflection> result = new ArrayList<>();
-		for (ITypeReflection<?> tr : getTypeHierarchy()) {
-			result.addAll(tr.getStaticTypeMethods());
-		}
-		return result;
+		return metadata.getStaticMethods();
 	}
 
 	@Override
 	public List<IInstanceMethodReflection> getInstanceMethods() {
-		List<IInstanceMethodReflection> result = new ArrayList<>();
-		for (ITypeReflection<?> tr : getTypeHierarchy()) {
-			result.addAll(tr.getInstanceTypeMethods());
-		}
-		return result;
+		return metadata.getInstanceMethods();
 	}
 
 	@Override
 	public List<IStaticFieldReflection> getStaticTypeFields() {
-		List<IStaticFieldReflection> result = new ArrayList<>();
-		for (Field field : getElement().getDeclaredFields()) {
-			if (Modifier.isStatic(field.getModifiers())) {
-				result.add(new StaticFieldReflection(field));
-			}
-		}
-		return result;
+		return metadata.getStaticTypeFields();
 	}
 
 	@Override
 	public List<IInstanceFieldReflection> getInstanceTypeFields() {
-		List<IInstanceFieldReflection> result = new ArrayList<>();
-		for (Field field : getElement().getDeclaredFields()) {
-			if (!Modifier.isStatic(field.getModifiers())) {
-				result.add(new InstanceFieldReflection(field));
-			}
-		}
-		return result;
+		return metadata.getInstanceTypeFields();
 	}
 
 	@Override
 	public List<IStaticFieldReflection> getStaticFields() {
-		List<IStaticFieldReflection> result = new ArrayList<>();
-		for (ITypeReflection<?> tr : getTypeHierarchy()) {
-			result.addAll(tr.getStaticTypeFields());
-		}
-		return result;
+		return metadata.getStaticFields();
 	}
 
 	@Override
 	public List<IInstanceFieldReflection> getInstanceFields() {
-		List<IInstanceFieldReflection> result = new ArrayList<>();
-		for (ITypeReflection<?> tr : getTypeHierarchy()) {
-			result.addAll(tr.getInstanceTypeFields());
-		}
-		return result;
+		return metadata.getInstanceFields();
+	}
+
+	@Override
+	public List<ITypeReflection<?>> getLinearization() {
+		return metadata.getLinearization();
+	}
+
+	@Override
+	public Stream<ITypeReflection<?>> streamTypeHierarchy() {
+		return metadata.streamTypeHierarchy();
+	}
+
+	@Override
+	public Stream<IStaticMethodReflection> streamStaticMethods() {
+		return metadata.streamHierarchy(TypeMetadata::getStaticTypeMethods);
+	}
+
+	@Override
+	public Stream<IInstanceMethodReflection> streamInstanceMethods() {
+		return metadata.streamLinearization(TypeMetadata::getInstanceTypeMethods);
+	}
+
+	@Override
+	public Stream<IStaticFieldReflection> streamStaticFields() {
+		return metadata.streamLinearization(TypeMetadata::getStaticTypeFields);
+	}
+
+	@Override
+	public Stream<IInstanceFieldReflection> streamInstanceFields() {
+		return metadata.streamLinearization(TypeMetadata::getInstanceTypeFields);
 	}
 
 	@Override
 	public IStaticFieldReflection findStaticField(String fieldName) {
-		return searchTypeHierarchy(cl -> findStaticField(cl, fieldName));
+		return metadata.findStaticField(fieldName);
 	}
 
 	@Override
 	public IInstanceFieldReflection findInstanceField(String fieldName) {
-		return searchTypeHierarchy(cl -> findInstanceField(cl, fieldName));
+		return metadata.findInstanceField(fieldName);
 	}
 
 	@Override
 	public IStaticMethodReflection findStaticMethod(String methodName) {
-		return searchTypeHierarchy(cl -> findStaticMethod(cl, methodName));
+		return metadata.findStaticMethod(methodName);
+	}
+
+	@Override
+	public List<IInstanceMethodReflection> getVirtualMethods() {
+		return metadata.getMethodTable().getMethods();
+	}
+
+	@Override
+	public IInstanceMethodReflection findVirtualMethod(String methodName, Class<?>... parameterTypes) {
+		int slot = findVirtualSlot(methodName, parameterTypes);
+		return slot < 0 ? null : getVirtualMethod(slot);
+	}
+
+	@Override
+	public int findVirtualSlot(String methodName, Class<?>... parameterTypes) {
+		return metadata.getMethodTable().findSlot(methodName, parameterTypes);
+	}
+
+	@Override
+	public IInstanceMethodReflection getVirtualMethod(int slot) {
+		return metadata.getMethodTable().get(slot);
+	}
+
+	@Override
+	public Object invokeVirtual(int slot, Object data, Object... args) {
+		return metadata.getMethodTable().invoke(slot, data, args);
 	}
 
 	@Override
 	public IInstanceMethodReflection findInstanceMethod(String methodName) {
-		return searchTypeHierarchy(cl -> findInstanceMethod(cl, methodName));
+		return metadata.findInstanceMethod(methodName);
 	}
 
-	private IStaticFieldReflection findStaticField(Class<?> cl, String fieldName) {
-		try {
-			Field field = cl.getDeclaredField(fieldName);
-			if (Modifier.isStatic(field.getModifiers())) {
-				return new StaticFieldReflection(field);
-			}
-		} catch (NoSuchFieldException ignore) {}
-		return null;
+	@Override
+	public List<IPropertyReflection> getProperties() {
+		return metadata.getProperties();
 	}
 
-	private IInstanceFieldReflection findInstanceField(Class<?> cl, String fieldName) {
-		try {
-			Field field = cl.getDeclaredField(fieldName);
-			if (!Modifier.isStatic(field.getModifiers())) {
-				return new InstanceFieldReflection(field);
-			}
-		} catch (NoSuchFieldException ignore) {}
-		return null;
+	@Override
+	public IPropertyReflection findProperty(String propertyName) {
+		return metadata.findProperty(propertyName);
 	}
 
-	private IStaticMethodReflection findStaticMethod(Class<?> cl, String methodName) {
-		for (Method m : cl.getDeclaredMethods()) {
-			if (Objects.equals(methodName, m.getName()) && Modifier.isStatic(m.getModifiers())) {
-				return new StaticMethodReflection(m);
-			}
-		}
-		return null;
+	@Override
+	public IPropertyPathReflection compilePropertyPath(String path) {
+		return metadata.compilePropertyPath(path);
 	}
 
-	private IInstanceMethodReflection findInstanceMethod(Class<?> cl, String methodName) {
-		for (Method m : cl.getDeclaredMethods()) {
-			if (Objects.equals(methodName, m.getName()) && !Modifier.isStatic(m.getModifiers())) {
-				return new InstanceMethodReflection(m);
-			}
-		}
-		return null;
+	@Override
+	public List<IFieldReflection> getAnnotatedFields(Class<? extends Annotation> annotationType) {
+		return metadata.getAnnotationIndex().getFields(annotationType);
 	}
 
-	private <R> R searchTypeHierarchy(Function<Class<?>, R> function) {
-		Class<?> cl = getElement();
-		while (cl != null) {
-			R result = function.apply(cl);
-			if (result != null) {
-				return result;
-			}
-			cl = cl.getSuperclass();
-		}
-		return null;
+	@Override
+	public List<IMethodReflection> getAnnotatedMethods(Class<? extends Annotation> annotationType) {
+		return metadata.getAnnotationIndex().getMethods(annotationType);
 	}
 
-	private void walkTypeHierarchy(Consumer<Class<?>> consumer) {
-		Class<?> cl = getElement();
-		while (cl != null) {
-			consumer.accept(cl);
-			cl = cl.getSuperclass();
-		}
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public List<IConstructorReflection<T>> getAnnotatedConstructors(Class<? extends Annotation> annotationType) {
+		return (List) metadata.getAnnotationIndex().getConstructors(annotationType);
+	}
+
+	@Override
+	public List<IParameterReflection> getAnnotatedParameters(Class<? extends Annotation> annotationType) {
+		return metadata.getAnnotationIndex().getParameters(annotationType);
 	}
 
 }
@@ -45,6 +45,19 @@ class VirtualParameterReflection extends VirtualReflection implements IParameter
         return true;
     }
 
+    @Override
+    public IGenericTypeReflection getGenericType() {
+        return TypeMetadata.of(type, InvocationBackend.Reflection).getGenericType(type);
+    }
+
+    @Override
+    public IGenericTypeReflection getGenericType(Class<?> owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException();
+        }
+        return getGenericType();
+    }
+
     @Override
     public String getName() {
         return name;
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+final class ZipArchive {
+
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int CENTRAL_SIGNATURE = 0x02014b50;
+	private static final int LOCAL_SIGNATURE = 0x04034b50;
+	private static final int END_SIZE = 22;
+	private static final int CENTRAL_SIZE = 46;
+	private static final int LOCAL_SIZE = 30;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	static final class Entry {
+
+		private final String name;
+		private final int method;
+		private final int compressedSize;
+		private final int size;
+		private final int localOffset;
+
+		private Entry(String name, int method, int compressedSize, int size, int localOffset) {
+			this.name = name;
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.localOffset = localOffset;
+		}
+
+		String getName() {
+			return name;
+		}
+
+	}
+
+	private final Path path;
+	private final ByteBuffer buffer;
+
+	private ZipArchive(Path path, ByteBuffer buffer) {
+		this.path = path;
+		this.buffer = buffer;
+	}
+
+	static ZipArchive open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new ZipException("Archive is too large: " + path);
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+			return new ZipArchive(path, buffer);
+		}
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	List<Entry> getEntries(Predicate<String> filter) throws ZipException {
+		int end = findEnd();
+		int count = buffer.getShort(end + 10) & 0xFFFF;
+		long directorySize = buffer.getInt(end + 12) & 0xFFFFFFFFL;
+		long directoryOffset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+		if (count == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+			throw new ZipException("ZIP64 archives are not supported: " + path);
+		}
+		List<Entry> result = new ArrayList<>(count);
+		int offset = (int) directoryOffset;
+		for (int i = 0; i < count; i++) {
+			if (buffer.getInt(offset) != CENTRAL_SIGNATURE) {
+				throw new ZipException("Invalid central directory: " + path);
+			}
+			int nameLength = buffer.getShort(offset + 28) & 0xFFFF;
+			int extraLength = buffer.getShort(offset + 30) & 0xFFFF;
+			int commentLength = buffer.getShort(offset + 32) & 0xFFFF;
+			String name = readName(offset + CENTRAL_SIZE, nameLength);
+			if (filter.test(name)) {
+				result.add(new Entry(name, buffer.getShort(offset + 10) & 0xFFFF, buffer.getInt(offset + 20),
+						buffer.getInt(offset + 24), buffer.getInt(offset + 42)));
+			}
+			offset += CENTRAL_SIZE + nameLength + extraLength + commentLength;
+		}
+		return result;
+	}
+
+	ByteBuffer read(Entry entry, Inflater inflater) throws ZipException {
+		int local = entry.localOffset;
+		if (buffer.getInt(local) != LOCAL_SIGNATURE) {
+			throw new ZipException("Invalid local header for " + entry.name + ": " + path);
+		}
+		int data = local + LOCAL_SIZE + (buffer.getShort(local + 26) & 0xFFFF) + (buffer.getShort(local + 28) & 0xFFFF);
+		ByteBuffer view = buffer.duplicate();
+		((Buffer) view).position(data);
+		if (entry.method == STORED) {
+			((Buffer) view).limit(data + entry.size);
+			return view.slice();
+		} else if (entry.method != DEFLATED) {
+			throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.name);
+		}
+		byte[] input = new byte[entry.compressedSize + 1];
+		view.get(input, 0, entry.compressedSize);
+		byte[] output = new byte[entry.size];
+		inflater.reset();
+		inflater.setInput(input);
+		try {
+			int count = 0;
+			while (count < output.length) {
+				int inflated = inflater.inflate(output, count, output.length - count);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				count += inflated;
+			}
+			if (count != output.length) {
+				throw new ZipException("Truncated entry " + entry.name + ": " + path);
+			}
+		} catch (DataFormatException e) {
+			throw new ZipException("Corrupted entry " + entry.name + ": " + e.getMessage());
+		}
+		return ByteBuffer.wrap(output);
+	}
+
+	private int findEnd() throws ZipException {
+		int limit = Math.max(0, buffer.capacity() - END_SIZE - 0xFFFF);
+		for (int offset = buffer.capacity() - END_SIZE; offset >= limit; offset--) {
+			if (buffer.getInt(offset) == END_SIGNATURE) {
+				return offset;
+			}
+		}
+		throw new ZipException("End of central directory not found: " + path);
+	}
+
+	private String readName(int offset, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
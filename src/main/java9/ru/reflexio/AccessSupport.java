@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Member;
+
+final class AccessSupport {
+
+	private static final ClassValue<MethodHandles.Lookup> LOOKUPS = new ClassValue<MethodHandles.Lookup>() {
+
+		@Override
+		protected MethodHandles.Lookup computeValue(Class<?> type) {
+			try {
+				return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+			} catch (IllegalAccessException | SecurityException e) {
+				return null;
+			}
+		}
+
+	};
+
+	private AccessSupport() {
+	}
+
+	static boolean makeAccessible(AccessibleObject element) {
+		return element.trySetAccessible();
+	}
+
+	static MethodHandles.Lookup privateLookup(Class<?> type) {
+		return LOOKUPS.get(type);
+	}
+
+	static String describeModule(Class<?> type) {
+		return type.getModule().toString();
+	}
+
+	static <T extends AccessibleObject & Member> MethodHandle unreflect(T element,
+			MemberReflection.HandleResolver<T> resolver) {
+		MethodHandles.Lookup lookup = LOOKUPS.get(element.getDeclaringClass());
+		if (lookup == null) {
+			return null;
+		}
+		try {
+			return resolver.resolve(lookup, element);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+}
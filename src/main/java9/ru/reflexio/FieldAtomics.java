@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+final class FieldAtomics {
+
+	private final Field field;
+	private final boolean isStatic;
+	private final VarHandle handle;
+	private final MethodHandle[] modes = new MethodHandle[VarHandle.AccessMode.values().length];
+
+	FieldAtomics(Field field) {
+		this.field = field;
+		isStatic = Modifier.isStatic(field.getModifiers());
+		MethodHandles.Lookup lookup = AccessSupport.privateLookup(field.getDeclaringClass());
+		if (lookup == null) {
+			throw new UnsupportedOperationException("Atomic field access is not available for " + field);
+		}
+		try {
+			handle = lookup.unreflectVarHandle(field);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	Object getVolatile(Object data) {
+		try {
+			return (Object) mode(VarHandle.AccessMode.GET_VOLATILE).invokeExact(target(data));
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	void setVolatile(Object data, Object value) {
+		try {
+			Object ignore = (Object) mode(VarHandle.AccessMode.SET_VOLATILE).invokeExact(target(data), value);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	Object getOpaque(Object data) {
+		try {
+			return (Object) mode(VarHandle.AccessMode.GET_OPAQUE).invokeExact(target(data));
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	void setRelease(Object data, Object value) {
+		try {
+			Object ignore = (Object) mode(VarHandle.AccessMode.SET_RELEASE).invokeExact(target(data), value);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	boolean compareAndSet(Object data, Object expected, Object value) {
+		try {
+			return (Boolean) (Object) mode(VarHandle.AccessMode.COMPARE_AND_SET)
+					.invokeExact(target(data), expected, value);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	Object getAndSet(Object data, Object value) {
+		try {
+			return (Object) mode(VarHandle.AccessMode.GET_AND_SET).invokeExact(target(data), value);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	Object getAndAdd(Object data, Object delta) {
+		try {
+			return (Object) mode(VarHandle.AccessMode.GET_AND_ADD).invokeExact(target(data), delta);
+		} catch (Throwable e) {
+			throw MemberReflection.rethrow(e);
+		}
+	}
+
+	private MethodHandle mode(VarHandle.AccessMode mode) {
+		MethodHandle result = modes[mode.ordinal()];
+		if (result == null) {
+			if (!handle.isAccessModeSupported(mode)) {
+				throw new UnsupportedOperationException(mode.methodName() + " is not supported for "
+						+ field.getType().getName() + " fields");
+			}
+			result = handle.toMethodHandle(mode);
+			if (isStatic) {
+				result = MethodHandles.dropArguments(result, 0, Object.class);
+			}
+			result = result.asType(result.type().generic());
+			modes[mode.ordinal()] = result;
+		}
+		return result;
+	}
+
+	private Object target(Object data) {
+		if (!isStatic && !field.getDeclaringClass().isInstance(data)) {
+			throw new IllegalArgumentException("Not an instance of " + field.getDeclaringClass().getName() + ": " + data);
+		}
+		return data;
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class AccessSupportTest {
+
+	@Test
+	public void testBaseAccess() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class, InvocationBackend.MethodHandle);
+		Point point = new Point(3, 4.0);
+		IInstanceFieldReflection field = cr.findInstanceField("x");
+		Assert.assertEquals(3, field.getValue(point));
+		field.setValue(point, 5);
+		Assert.assertEquals(5, point.getX());
+	}
+
+	@Test
+	public void testInaccessibleMember() {
+		Assume.assumeFalse(System.getProperty("java.specification.version").startsWith("1."));
+		IInstanceFieldReflection field = new TypeReflection<>(String.class).findInstanceField("value");
+		try {
+			field.getValue("text");
+			Assert.fail();
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("module java.base does not open java.lang"));
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("String.value"));
+		}
+	}
+
+	@Test
+	public void testVersionedAccess() throws Exception {
+		File classes = new File(AccessSupport.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		File versioned = new File(classes, "META-INF/versions/9");
+		Assume.assumeTrue(new File(versioned, "ru/reflexio/AccessSupport.class").isFile());
+		File testClasses = new File(Point.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		URL[] urls = { versioned.toURI().toURL(), classes.toURI().toURL(), testClasses.toURI().toURL() };
+		try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+			Class<?> support = loader.loadClass(AccessSupport.class.getName());
+			Assert.assertEquals(53, majorVersion(loader, support));
+			Class<?> backend = loader.loadClass(InvocationBackend.class.getName());
+			Class<?> pointType = loader.loadClass(Point.class.getName());
+			Class<?> typeReflection = loader.loadClass(TypeReflection.class.getName());
+			Class<?> fieldReflection = loader.loadClass(IInstanceFieldReflection.class.getName());
+			Object handles = backend.getField("MethodHandle").get(null);
+			Object reflection = typeReflection.getConstructor(Class.class, backend).newInstance(pointType, handles);
+			Object point = pointType.getConstructor(int.class, double.class).newInstance(3, 4.0);
+			Object field = typeReflection.getMethod("findInstanceField", String.class).invoke(reflection, "x");
+			Assert.assertEquals(3, fieldReflection.getMethod("getValue", Object.class).invoke(field, point));
+			fieldReflection.getMethod("setValue", Object.class, Object.class).invoke(field, point, 7);
+			Assert.assertEquals(7, pointType.getMethod("getX").invoke(point));
+			Method getElement = loader.loadClass(AnnotatedReflection.class.getName()).getDeclaredMethod("getElement");
+			getElement.setAccessible(true);
+			Assert.assertFalse(isAccessible((AccessibleObject) getElement.invoke(field)));
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private static boolean isAccessible(AccessibleObject element) {
+		return element.isAccessible();
+	}
+
+	private static int majorVersion(ClassLoader loader, Class<?> type) throws Exception {
+		String resource = type.getName().replace('.', '/') + ".class";
+		try (DataInputStream in = new DataInputStream(loader.getResourceAsStream(resource))) {
+			in.readInt();
+			in.readUnsignedShort();
+			return in.readUnsignedShort();
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+public abstract class Animal implements Comparable<Animal>, Named.Loud {
+
+	public static class Dog extends Animal {
+
+		@Override
+		public String getKind() {
+			return "dog";
+		}
+
+		@Override
+		public String speak() {
+			return "woof";
+		}
+
+		@Override
+		public Dog self() {
+			return this;
+		}
+
+	}
+
+	public static class Puppy extends Dog {
+
+		@Override
+		public String speak() {
+			return "yip";
+		}
+
+		@Override
+		public String getName() {
+			return "puppy";
+		}
+
+	}
+
+	private int age;
+
+	public Animal self() {
+		return this;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	private void grow() {
+		age++;
+	}
+
+	@Override
+	public int compareTo(Animal other) {
+		return Integer.compare(age, other.age);
+	}
+
+}
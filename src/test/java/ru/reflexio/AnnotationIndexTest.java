@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AnnotationIndexTest {
+
+	@Test
+	public void testAnnotatedMembers() {
+		TypeReflection<Endpoint> cr = new TypeReflection<>(Endpoint.class);
+		List<IFieldReflection> fields = cr.getAnnotatedFields(Endpoint.Route.class);
+		Assert.assertEquals(1, fields.size());
+		Assert.assertEquals("items", fields.get(0).getName());
+		List<IMethodReflection> methods = cr.getAnnotatedMethods(Endpoint.Route.class);
+		Assert.assertEquals(1, methods.size());
+		Assert.assertEquals("get", methods.get(0).getName());
+		Assert.assertTrue(cr.getAnnotatedMethods(Test.class).isEmpty());
+		Assert.assertSame(methods, cr.getAnnotatedMethods(Endpoint.Route.class));
+	}
+
+	@Test
+	public void testAnnotatedConstructorsAndParameters() {
+		TypeReflection<Endpoint> cr = new TypeReflection<>(Endpoint.class);
+		List<IConstructorReflection<Endpoint>> ctors = cr.getAnnotatedConstructors(Endpoint.Composed.class);
+		Assert.assertEquals(1, ctors.size());
+		Assert.assertEquals(0, ctors.get(0).getParameterCount());
+		List<IParameterReflection> parameters = cr.getAnnotatedParameters(Endpoint.Param.class);
+		Assert.assertEquals(2, parameters.size());
+	}
+
+	@Test
+	public void testTransitiveMetaAnnotations() {
+		TypeReflection<Endpoint> cr = new TypeReflection<>(Endpoint.class);
+		Assert.assertEquals(1, cr.getAnnotatedFields(Endpoint.Marker.class).size());
+		Assert.assertEquals(1, cr.getAnnotatedMethods(Endpoint.Composed.class).size());
+		Assert.assertEquals(1, cr.getAnnotatedConstructors(Endpoint.Marker.class).size());
+		IInstanceMethodReflection method = cr.findInstanceMethod("get");
+		List<MetaAnnotation<Endpoint.Marker>> metas = method.getMetaAnnotations(Endpoint.Marker.class);
+		Assert.assertEquals(1, metas.size());
+		Assert.assertEquals("composed", metas.get(0).getMetaAnnotation().value());
+		Assert.assertEquals(Endpoint.Route.class, metas.get(0).getAnnotation().annotationType());
+	}
+
+	@Test
+	public void testAnnotationsCopy() {
+		IInstanceMethodReflection method = new TypeReflection<>(Endpoint.class).findInstanceMethod("get");
+		method.getAnnotations()[0] = null;
+		Assert.assertNotNull(method.getAnnotations()[0]);
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Retention;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassScannerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Path location(Class<?> type) throws URISyntaxException {
+		return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+	}
+
+	private static TypeDescriptor find(List<TypeDescriptor> descriptors, Class<?> type) {
+		for (TypeDescriptor descriptor : descriptors) {
+			if (descriptor.getName().equals(type.getName())) {
+				return descriptor;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testScanDirectory() throws URISyntaxException {
+		List<TypeDescriptor> descriptors = new ClassScanner().scan(location(Endpoint.class));
+		TypeDescriptor endpoint = find(descriptors, Endpoint.class);
+		Assert.assertNotNull(endpoint);
+		Assert.assertEquals("ru.reflexio", endpoint.getPackageName());
+		Assert.assertEquals("java.lang.Object", endpoint.getSuperclassName());
+		Assert.assertTrue(endpoint.hasMemberAnnotatedWith(Endpoint.Route.class));
+		Assert.assertTrue(endpoint.hasMemberAnnotatedWith(Endpoint.Composed.class));
+		Assert.assertFalse(endpoint.isAnnotatedWith(Endpoint.Route.class));
+		TypeDescriptor route = find(descriptors, Endpoint.Route.class);
+		Assert.assertTrue(route.isAnnotation());
+		Assert.assertTrue(route.isInterface());
+		Assert.assertTrue(route.isAnnotatedWith(Endpoint.Composed.class));
+		Assert.assertTrue(route.isAnnotatedWith(Retention.class));
+		Assert.assertTrue(find(descriptors, Parent.class).isAbstract());
+		Assert.assertEquals(Child.class.getName(), find(descriptors, GrandChild.class).getSuperclassName());
+		Assert.assertEquals(TypeReflection.class, find(descriptors, Point.class).toReflection().getClass());
+	}
+
+	@Test
+	public void testClassNameFilter() throws URISyntaxException {
+		List<TypeDescriptor> descriptors = new ClassScanner(name -> name.startsWith(Endpoint.class.getName()))
+				.scan(location(Endpoint.class));
+		Assert.assertEquals(5, descriptors.size());
+		for (TypeDescriptor descriptor : descriptors) {
+			Assert.assertTrue(descriptor.getName().startsWith(Endpoint.class.getName()));
+		}
+		Assert.assertEquals(Endpoint.Marker.class, find(descriptors, Endpoint.Marker.class).load(getClass().getClassLoader()));
+	}
+
+	@Test
+	public void testScanArchive() throws IOException, URISyntaxException {
+		Path classes = location(Point.class);
+		Path jar = folder.newFile("models.jar").toPath();
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			byte[] point = Files.readAllBytes(classes.resolve("ru/reflexio/Point.class"));
+			out.putNextEntry(new ZipEntry("ru/reflexio/Point.class"));
+			out.write(point);
+			out.closeEntry();
+			byte[] endpoint = Files.readAllBytes(classes.resolve("ru/reflexio/Endpoint.class"));
+			ZipEntry stored = new ZipEntry("ru/reflexio/Endpoint.class");
+			CRC32 crc = new CRC32();
+			crc.update(endpoint);
+			stored.setMethod(ZipEntry.STORED);
+			stored.setSize(endpoint.length);
+			stored.setCrc(crc.getValue());
+			out.putNextEntry(stored);
+			out.write(endpoint);
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("readme.txt"));
+			out.write("not a class".getBytes("UTF-8"));
+			out.closeEntry();
+		}
+		List<TypeDescriptor> descriptors = new ClassScanner().scan(jar);
+		Assert.assertEquals(2, descriptors.size());
+		Assert.assertEquals(jar, find(descriptors, Point.class).getSource());
+		Assert.assertTrue(find(descriptors, Endpoint.class).hasMemberAnnotatedWith(Endpoint.Route.class));
+	}
+
+	@Test
+	public void testScanLibrary() throws URISyntaxException {
+		List<TypeDescriptor> descriptors = new ClassScanner(name -> name.startsWith("org.junit."))
+				.scan(location(Test.class));
+		TypeDescriptor test = find(descriptors, Test.class);
+		Assert.assertTrue(test.isAnnotation());
+		Assert.assertTrue(test.isAnnotatedWith(Retention.class));
+		Assert.assertTrue(descriptors.size() > 100);
+	}
+
+	@Test
+	public void testInvalidClassFile() throws IOException {
+		Path root = folder.newFolder("broken").toPath();
+		try (OutputStream out = Files.newOutputStream(root.resolve("Broken.class"))) {
+			out.write(new byte[] { 1, 2, 3, 4 });
+		}
+		Map<String, Exception> skipped = new ConcurrentHashMap<>();
+		Assert.assertTrue(new ClassScanner(ForkJoinPool.commonPool(), name -> true, null, skipped::put).scan(root)
+				.isEmpty());
+		Assert.assertTrue(skipped.get(root.resolve("Broken.class").toString()) instanceof IllegalArgumentException);
+		Assert.assertTrue(new ClassScanner().scan(root).isEmpty());
+	}
+
+	@Test
+	public void testCorruptArchiveEntry() throws IOException, URISyntaxException {
+		Path jar = folder.newFile("partial.jar").toPath();
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			byte[] point = Files.readAllBytes(location(Point.class).resolve("ru/reflexio/Point.class"));
+			out.putNextEntry(new ZipEntry("ru/reflexio/Point.class"));
+			out.write(point);
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("ru/reflexio/Truncated.class"));
+			out.write(point, 0, point.length / 2);
+			out.closeEntry();
+		}
+		MetadataCache[] caches = { null, new MetadataCache(folder.getRoot().toPath().resolve("cache.bin")) };
+		for (MetadataCache cache : caches) {
+			Map<String, Exception> skipped = new ConcurrentHashMap<>();
+			List<TypeDescriptor> descriptors = new ClassScanner(ForkJoinPool.commonPool(), name -> true, cache,
+					skipped::put).scan(jar);
+			Assert.assertEquals(1, descriptors.size());
+			Assert.assertEquals(Point.class.getName(), descriptors.get(0).getName());
+			Assert.assertEquals(Collections.singleton(jar + "!ru/reflexio/Truncated.class"), skipped.keySet());
+		}
+	}
+
+}
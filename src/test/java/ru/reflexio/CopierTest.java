@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CopierTest {
+
+	static class Tags extends HashSet<String> {
+	}
+
+	public static class Note {
+
+		private Tags tags = new Tags();
+
+	}
+
+	public static class Ledger {
+
+		private Date created = new Date(1000L);
+		private BitSet flags = new BitSet();
+		private LocalDate due = LocalDate.of(2019, 1, 1);
+		private EnumSet<Copier.Policy> policies = EnumSet.of(Copier.Policy.Deep);
+		private EnumMap<Copier.Policy, Point> points = new EnumMap<>(Copier.Policy.class);
+		private ConcurrentSkipListSet<String> tags = new ConcurrentSkipListSet<>(Collections.reverseOrder());
+		private Optional<Point> owner = Optional.empty();
+
+	}
+
+	private static Point point(int x, double y, String name) {
+		Point point = new Point(x, y);
+		point.setName(name);
+		point.setId(42L);
+		point.setVisible(true);
+		return point;
+	}
+
+	private static Shape shape() {
+		Shape shape = new Shape(7);
+		shape.origin = point(1, 2.5, "origin");
+		shape.codes = new int[] { 3, 4 };
+		shape.corners = new Point[] { point(5, 6, "a"), point(7, 8, "b") };
+		shape.path.add(shape.origin);
+		shape.anchors.put("center", point(9, 10, "center"));
+		shape.parent = shape;
+		return shape;
+	}
+
+	@Test
+	public void testShallowCopy() {
+		Copier<Point> copier = new Copier<>(new TypeReflection<>(Point.class));
+		Point source = point(1, 2.5, "p");
+		Point copy = copier.copy(source);
+		Assert.assertNotSame(source, copy);
+		Assert.assertEquals(1, copy.getX());
+		Assert.assertEquals(2.5, copy.getY(), 0);
+		Assert.assertEquals(42L, copy.getId());
+		Assert.assertTrue(copy.isVisible());
+		Assert.assertSame(source.getName(), copy.getName());
+		Point target = new Point();
+		copier.copy(source, target);
+		Assert.assertEquals(1, target.getX());
+		Assert.assertNull(copier.copy(null));
+	}
+
+	@Test
+	public void testShallowSharesReferences() {
+		Shape source = shape();
+		Shape copy = new Copier<>(new TypeReflection<>(Shape.class)).copy(source);
+		Assert.assertEquals(7, copy.serial);
+		Assert.assertSame(source.origin, copy.origin);
+		Assert.assertSame(source.codes, copy.codes);
+		Assert.assertSame(source.path, copy.path);
+		Assert.assertSame(source, copy.parent);
+	}
+
+	@Test
+	public void testDeepCopy() {
+		Shape source = shape();
+		Shape copy = new Copier<>(new TypeReflection<>(Shape.class), Copier.Policy.Deep).copy(source);
+		Assert.assertEquals(7, copy.serial);
+		Assert.assertNotSame(source.origin, copy.origin);
+		Assert.assertEquals("origin", copy.origin.getName());
+		Assert.assertNotSame(source.codes, copy.codes);
+		Assert.assertArrayEquals(source.codes, copy.codes);
+		Assert.assertNotSame(source.corners[0], copy.corners[0]);
+		Assert.assertEquals(7, copy.corners[1].getX());
+		Assert.assertNotSame(source.path, copy.path);
+		Assert.assertSame(copy.origin, copy.path.get(0));
+		Assert.assertEquals(9, copy.anchors.get("center").getX());
+		Assert.assertNotSame(source.anchors.get("center"), copy.anchors.get("center"));
+		Assert.assertSame(copy, copy.parent);
+	}
+
+	@Test
+	public void testTypePolicies() {
+		Copier<Shape> copier = new Copier<>(new TypeReflection<>(Shape.class), Copier.Policy.Deep)
+				.withPolicy(int[].class, Copier.Policy.Share)
+				.withPolicy(List.class, Copier.Policy.Clone)
+				.withPolicy(Point[].class, Copier.Policy.Clone);
+		Shape source = shape();
+		Shape copy = copier.copy(source);
+		Assert.assertSame(source.codes, copy.codes);
+		Assert.assertNotSame(source.path, copy.path);
+		Assert.assertSame(source.origin, copy.path.get(0));
+		Assert.assertNotSame(source.corners, copy.corners);
+		Assert.assertSame(source.corners[0], copy.corners[0]);
+		Assert.assertNotSame(source.origin, copy.origin);
+	}
+
+	@Test
+	public void testCollectionFallback() {
+		Shape source = new Shape();
+		source.path = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList(point(1, 1, "x"))));
+		Shape copy = new Copier<>(new TypeReflection<>(Shape.class), Copier.Policy.Deep).copy(source);
+		Assert.assertEquals(1, copy.path.size());
+		Assert.assertNotSame(source.path.get(0), copy.path.get(0));
+		try {
+			copy.path.add(point(2, 2, "y"));
+			Assert.fail();
+		} catch (UnsupportedOperationException ignore) {}
+	}
+
+	@Test
+	public void testPlatformValues() {
+		Ledger source = new Ledger();
+		source.flags.set(3);
+		Ledger copy = new Copier<>(new TypeReflection<>(Ledger.class), Copier.Policy.Deep).copy(source);
+		Assert.assertNotSame(source.created, copy.created);
+		Assert.assertEquals(source.created, copy.created);
+		Assert.assertNotSame(source.flags, copy.flags);
+		Assert.assertTrue(copy.flags.get(3));
+		Assert.assertSame(source.due, copy.due);
+	}
+
+	@Test
+	public void testTypedCollections() {
+		Ledger source = new Ledger();
+		source.points.put(Copier.Policy.Clone, point(1, 2, "p"));
+		source.tags.add("a");
+		source.tags.add("b");
+		for (Copier.Policy policy : new Copier.Policy[] { Copier.Policy.Clone, Copier.Policy.Deep }) {
+			Ledger copy = new Copier<>(new TypeReflection<>(Ledger.class), policy).copy(source);
+			Assert.assertNotSame(source.policies, copy.policies);
+			Assert.assertEquals(source.policies, copy.policies);
+			Assert.assertNotSame(source.points, copy.points);
+			Assert.assertEquals(1, copy.points.get(Copier.Policy.Clone).getX());
+			Assert.assertNotSame(source.tags, copy.tags);
+			Assert.assertEquals("b", copy.tags.first());
+		}
+		Ledger copy = new Copier<>(new TypeReflection<>(Ledger.class), Copier.Policy.Deep).copy(source);
+		Assert.assertNotSame(source.points.get(Copier.Policy.Clone), copy.points.get(Copier.Policy.Clone));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncompatibleCollection() {
+		new Copier<>(new TypeReflection<>(Note.class), Copier.Policy.Clone).copy(new Note());
+	}
+
+	@Test
+	public void testValueTypes() {
+		Ledger source = new Ledger();
+		Ledger copy = new Copier<>(new TypeReflection<>(Ledger.class), Copier.Policy.Deep).copy(source);
+		Assert.assertSame(source.owner, copy.owner);
+		source.owner = Optional.of(point(1, 1, "owner"));
+		copy = new Copier<>(new TypeReflection<>(Ledger.class), Copier.Policy.Deep).copy(source);
+		Assert.assertNotSame(source.owner.get(), copy.owner.get());
+		Assert.assertEquals("owner", copy.owner.get().getName());
+		copy = new Copier<>(new TypeReflection<>(Ledger.class), Copier.Policy.Clone).copy(source);
+		Assert.assertSame(source.owner, copy.owner);
+	}
+
+	@Test
+	public void testSubclassCopy() {
+		Copier<Object> copier = new Copier<>(new TypeReflection<>(Object.class));
+		Object copy = copier.copy(point(3, 4, "p"));
+		Assert.assertEquals(Point.class, copy.getClass());
+		Assert.assertEquals(3, ((Point) copy).getX());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoDefaultConstructor() {
+		new Copier<>(new TypeReflection<>(Integer.class)).copy(1);
+	}
+
+}
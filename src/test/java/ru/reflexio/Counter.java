@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+
+@Reflected
+public class Counter {
+
+	static int instances;
+
+	int value;
+	final String name;
+	private int secret = 7;
+
+	public Counter() {
+		this("counter");
+	}
+
+	Counter(String name) {
+		this.name = name;
+		instances++;
+	}
+
+	private Counter(int value) {
+		this("private");
+		this.value = value;
+	}
+
+	static int getInstances() {
+		return instances;
+	}
+
+	public int increment(int delta) {
+		value += delta;
+		return value;
+	}
+
+	long scaled(long factor) {
+		return value * factor;
+	}
+
+	void reset() {
+		value = 0;
+	}
+
+	public <T extends CharSequence> T echo(T text) {
+		return text;
+	}
+
+	public void fail() throws IOException {
+		throw new IOException("failed");
+	}
+
+	private int peek() {
+		return secret;
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class FieldAtomicsTest {
+
+	public static class Deferred {
+
+		static int value = 5;
+
+	}
+
+	@Test
+	public void testVolatileAccess() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Point point = new Point(3, 4.0);
+		IInstanceFieldReflection x = cr.findInstanceField("x");
+		Assert.assertEquals(3, x.getVolatile(point));
+		x.setVolatile(point, 5);
+		Assert.assertEquals(5, point.getX());
+		x.setRelease(point, 6);
+		Assert.assertEquals(6, x.getOpaque(point));
+		IInstanceFieldReflection name = cr.findInstanceField("name");
+		name.setRelease(point, "origin");
+		Assert.assertEquals("origin", name.getVolatile(point));
+		IInstanceFieldReflection visible = cr.findInstanceField("visible");
+		visible.setVolatile(point, true);
+		Assert.assertEquals(true, visible.getVolatile(point));
+	}
+
+	@Test
+	public void testCompareAndSet() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class, InvocationBackend.MethodHandle);
+		Point point = new Point(3, 4.0);
+		IInstanceFieldReflection x = cr.findInstanceField("x");
+		Assert.assertFalse(x.compareAndSet(point, 4, 10));
+		Assert.assertTrue(x.compareAndSet(point, 3, 10));
+		Assert.assertEquals(10, point.getX());
+		IInstanceFieldReflection id = cr.findInstanceField("id");
+		Assert.assertTrue(id.compareAndSet(point, 0, 42));
+		Assert.assertEquals(42L, point.getId());
+		IInstanceFieldReflection y = cr.findInstanceField("y");
+		Assert.assertTrue(y.compareAndSet(point, 4.0, 2.5));
+		Assert.assertEquals(2.5, point.getY(), 0);
+		IInstanceFieldReflection name = cr.findInstanceField("name");
+		String expected = "first";
+		point.setName(expected);
+		Assert.assertFalse(name.compareAndSet(point, new String(expected), "second"));
+		Assert.assertTrue(name.compareAndSet(point, expected, "second"));
+		Assert.assertEquals("second", name.getAndSet(point, "third"));
+		Assert.assertEquals("third", point.getName());
+	}
+
+	@Test
+	public void testGetAndAdd() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Point point = new Point(3, 4.0);
+		Assert.assertEquals(3, cr.findInstanceField("x").getAndAdd(point, 2));
+		Assert.assertEquals(5, point.getX());
+		Assert.assertEquals(0L, cr.findInstanceField("id").getAndAdd(point, 7));
+		Assert.assertEquals(7L, point.getId());
+		Assert.assertEquals(0f, cr.findInstanceField("weight").getAndAdd(point, 1.5));
+		Assert.assertEquals(1.5f, point.getWeight(), 0);
+		Assert.assertEquals(4.0, cr.findInstanceField("y").getAndAdd(point, 0.5));
+		Assert.assertEquals(4.5, point.getY(), 0);
+	}
+
+	@Test
+	public void testConcurrentGetAndAdd() throws InterruptedException {
+		IInstanceFieldReflection value = new TypeReflection<>(Counter.class).findInstanceField("value");
+		Counter counter = new Counter();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 10000; j++) {
+					value.getAndAdd(counter, 1);
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(40000, counter.value);
+	}
+
+	@Test
+	public void testStaticField() {
+		IStaticFieldReflection instances = new TypeReflection<>(Counter.class).findStaticField("instances");
+		int current = (Integer) instances.getVolatile();
+		Assert.assertTrue(instances.compareAndSet(current, current + 10));
+		Assert.assertEquals(current + 10, instances.getAndAdd(-10));
+		Assert.assertEquals(current, Counter.instances);
+	}
+
+	@Test
+	public void testUninitializedClass() {
+		Assert.assertEquals(5, new TypeReflection<>(Deferred.class).findStaticField("value").getVolatile());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		IInstanceFieldReflection x = cr.findInstanceField("x");
+		try {
+			x.getVolatile("point");
+			Assert.fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			cr.findInstanceField("name").getAndAdd(new Point(), 1);
+			Assert.fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+		try {
+			x.getAndAdd(new Point(), "1");
+			Assert.fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void testUnsupportedFields() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		try {
+			cr.findInstanceField("visible").compareAndSet(new Point(), false, true);
+			Assert.fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+		Counter counter = new Counter();
+		IInstanceFieldReflection name = new TypeReflection<>(Counter.class).findInstanceField("name");
+		try {
+			name.setVolatile(counter, "changed");
+			Assert.fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+		try {
+			name.compareAndSet(counter, counter.name, "changed");
+			Assert.fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+		Assert.assertNotEquals("changed", name.getVolatile(counter));
+	}
+
+	@Test
+	public void testVersionedAtomics() throws Exception {
+		File classes = new File(FieldAtomics.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		File versioned = new File(classes, "META-INF/versions/9");
+		Assume.assumeTrue(new File(versioned, "ru/reflexio/FieldAtomics.class").isFile());
+		File testClasses = new File(Point.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		URL[] urls = { versioned.toURI().toURL(), classes.toURI().toURL(), testClasses.toURI().toURL() };
+		try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+			Class<?> pointType = loader.loadClass(Point.class.getName());
+			Class<?> typeReflection = loader.loadClass(TypeReflection.class.getName());
+			Class<?> fieldReflection = loader.loadClass(IInstanceFieldReflection.class.getName());
+			Object reflection = typeReflection.getConstructor(Class.class).newInstance(pointType);
+			Object point = pointType.getConstructor(int.class, double.class).newInstance(3, 4.0);
+			Object x = typeReflection.getMethod("findInstanceField", String.class).invoke(reflection, "x");
+			Object y = typeReflection.getMethod("findInstanceField", String.class).invoke(reflection, "y");
+			Assert.assertEquals(true, fieldReflection.getMethod("compareAndSet", Object.class, Object.class,
+					Object.class).invoke(x, point, 3, 8));
+			Assert.assertEquals(8, fieldReflection.getMethod("getAndAdd", Object.class, Object.class)
+					.invoke(x, point, 2));
+			Assert.assertEquals(10, fieldReflection.getMethod("getOpaque", Object.class).invoke(x, point));
+			Assert.assertEquals(4.0, fieldReflection.getMethod("getAndAdd", Object.class, Object.class)
+					.invoke(y, point, 1));
+			Assert.assertEquals(5.0, pointType.getMethod("getY").invoke(point));
+		}
+	}
+
+}
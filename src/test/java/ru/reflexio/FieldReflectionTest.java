@@ -28,7 +28,19 @@ package ru.reflexio;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 public class FieldReflectionTest {
 
@@ -128,4 +140,126 @@ public class FieldReflectionTest {
 		Assert.assertEquals(String.class, generics.get(0).getType());
 		Assert.assertEquals(Parent.class, generics.get(1).getType());
 	}
+
+	@Test
+	public void testHandleGetValue() {
+		GrandChild grandChild = new GrandChild(10);
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		IInstanceFieldReflection field = cr.findInstanceField("code");
+		Assert.assertEquals(10, field.getValue(grandChild));
+		field.setValue(grandChild, 30);
+		Assert.assertEquals(30, grandChild.getCode());
+	}
+
+	@Test
+	public void testHandleSetFinalField() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		GrandChild grandChild = new GrandChild(10);
+		IInstanceFieldReflection field = cr.findInstanceField("message");
+		field.setValue(grandChild, "Altered");
+		Assert.assertEquals("Altered", grandChild.getMessage());
+	}
+
+	@Test
+	public void testHandleStaticField() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		Assert.assertEquals("the name", cr.findStaticField("CONSTANT").getValue());
+		IStaticFieldReflection field = cr.findStaticField("STATIC");
+		field.setValue(300);
+		Assert.assertEquals(300, GrandChild.STATIC);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testHandleSetStaticFinalField() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		cr.findStaticField("CONSTANT").setValue("ALTERED");
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testHandleSetInvalidTypeField() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		cr.findInstanceField("code").setValue(new GrandChild(10), "string");
+	}
+
+	@Test
+	public void testCompiledPrimitiveAccessors() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Point point = new Point(3, 4.5);
+		ToIntFunction<Point> x = cr.findInstanceField("x").compileIntGetter();
+		ObjIntConsumer<Point> setX = cr.findInstanceField("x").compileIntSetter();
+		ToDoubleFunction<Point> y = cr.findInstanceField("y").compileDoubleGetter();
+		ObjLongConsumer<Point> setId = cr.findInstanceField("id").compileLongSetter();
+		ObjBooleanConsumer<Point> setVisible = cr.findInstanceField("visible").compileBooleanSetter();
+		Predicate<Point> visible = cr.findInstanceField("visible").compileBooleanGetter();
+		Assert.assertEquals(3, x.applyAsInt(point));
+		Assert.assertEquals(4.5, y.applyAsDouble(point), 0);
+		setX.accept(point, 7);
+		setId.accept(point, 1L << 40);
+		setVisible.accept(point, true);
+		Assert.assertEquals(7, point.getX());
+		Assert.assertEquals(1L << 40, point.getId());
+		Assert.assertTrue(visible.test(point));
+	}
+
+	@Test
+	public void testCompiledWideningAccessors() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Point point = new Point();
+		cr.findInstanceField("layer").<Point>compileIntSetter().accept(point, 5);
+		cr.findInstanceField("weight").<Point>compileDoubleSetter().accept(point, 1.5);
+		Assert.assertEquals(5, cr.findInstanceField("layer").<Point>compileLongGetter().applyAsLong(point));
+		Assert.assertEquals(1.5, cr.findInstanceField("weight").<Point>compileDoubleGetter().applyAsDouble(point), 0);
+	}
+
+	@Test
+	public void testCompiledReferenceAccessors() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Point point = new Point();
+		BiConsumer<Point, String> setName = cr.findInstanceField("name").compileSetter();
+		Function<Point, String> name = cr.findInstanceField("name").compileGetter();
+		setName.accept(point, "origin");
+		Assert.assertEquals("origin", name.apply(point));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompiledNarrowingGetter() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		cr.findInstanceField("id").compileIntGetter();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompiledMismatchedSetter() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		cr.findInstanceField("x").compileLongSetter();
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		IInstanceFieldReflection field = cr.findInstanceField("code");
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					GrandChild grandChild = new GrandChild(0);
+					start.await();
+					for (int i = 0; i < 20000; i++) {
+						field.setValue(grandChild, i);
+						Assert.assertEquals(i, field.getValue(grandChild));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GeneratedReflectionTest {
+
+	@Test
+	public void testLookup() {
+		Assert.assertNotNull(GeneratedReflection.find(Counter.class));
+		Assert.assertEquals(Counter.class, GeneratedReflection.find(Counter.class).getType());
+		Assert.assertNull(GeneratedReflection.find(Point.class));
+		Assert.assertNull(GeneratedReflection.find(String.class));
+		Assert.assertNull(GeneratedReflection.find(int[].class));
+	}
+
+	@Test
+	public void testFields() {
+		TypeReflection<Counter> cr = new TypeReflection<>(Counter.class);
+		Counter counter = new Counter();
+		FieldReflection value = (FieldReflection) cr.findInstanceField("value");
+		value.setValue(counter, (short) 5);
+		Assert.assertEquals(5, counter.value);
+		Assert.assertEquals(5, value.getValue(counter));
+		Assert.assertTrue(value.getGeneratedIndex() >= 0);
+		FieldReflection secret = (FieldReflection) cr.findInstanceField("secret");
+		Assert.assertEquals(7, secret.getValue(counter));
+		Assert.assertEquals(-1, secret.getGeneratedIndex());
+		FieldReflection name = (FieldReflection) cr.findInstanceField("name");
+		Assert.assertEquals("counter", name.getValue(counter));
+		name.setValue(counter, "renamed");
+		Assert.assertEquals("renamed", counter.name);
+		int instances = Counter.instances;
+		Assert.assertEquals(instances, cr.findStaticField("instances").getValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFieldTypeMismatch() {
+		new TypeReflection<>(Counter.class).findInstanceField("value").setValue(new Counter(), "five");
+	}
+
+	@Test
+	public void testMethods() {
+		TypeReflection<Counter> cr = new TypeReflection<>(Counter.class);
+		Counter counter = new Counter();
+		Assert.assertEquals(3, cr.findInstanceMethod("increment").invoke(counter, 3));
+		Assert.assertEquals(12L, cr.findInstanceMethod("scaled").invoke(counter, 4));
+		Assert.assertEquals("text", cr.findInstanceMethod("echo").invoke(counter, "text"));
+		Assert.assertNull(cr.findInstanceMethod("reset").invoke(counter));
+		Assert.assertEquals(0, counter.value);
+		Assert.assertEquals(Counter.instances, cr.findStaticMethod("getInstances").invoke());
+		MethodReflection peek = (MethodReflection) cr.findInstanceMethod("peek");
+		Assert.assertEquals(-1, peek.getGeneratedIndex());
+		Assert.assertEquals(7, peek.invoke(counter));
+		Assert.assertTrue(((MethodReflection) cr.findInstanceMethod("increment")).getGeneratedIndex() >= 0);
+	}
+
+	@Test
+	public void testMethodException() {
+		try {
+			new TypeReflection<>(Counter.class).findInstanceMethod("fail").invoke(new Counter());
+			Assert.fail();
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongArgumentCount() {
+		new TypeReflection<>(Counter.class).findInstanceMethod("increment").invoke(new Counter(), 1, 2);
+	}
+
+	@Test
+	public void testConstructors() {
+		TypeReflection<Counter> cr = new TypeReflection<>(Counter.class);
+		Counter named = cr.instantiate("named");
+		Assert.assertEquals("named", named.name);
+		Counter counter = cr.instantiate();
+		Assert.assertEquals("counter", counter.name);
+		Counter hidden = cr.instantiate(9);
+		Assert.assertEquals("private", hidden.name);
+		Assert.assertEquals(9, hidden.value);
+		ConstructorReflection<?> ctor = (ConstructorReflection<?>) cr.findConstructor(String.class);
+		Assert.assertTrue(ctor.getGeneratedIndex() >= 0);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenericTypeTest {
+
+	@Test
+	public void testDeclaredGenericType() {
+		TypeReflection<Repository> cr = new TypeReflection<>(Repository.class);
+		IGenericTypeReflection index = cr.findInstanceField("index").getGenericType();
+		Assert.assertEquals(IGenericTypeReflection.Kind.Parameterized, index.getKind());
+		Assert.assertEquals(Map.class, index.getRawType());
+		Assert.assertEquals("java.util.Map<K, java.util.List<V>>", index.getTypeName());
+		Assert.assertFalse(index.isResolved());
+		IGenericTypeReflection key = index.getTypeArguments().get(0);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Variable, key.getKind());
+		Assert.assertEquals(Object.class, key.getRawType());
+		Assert.assertEquals(Object.class, key.getUpperBounds().get(0).getRawType());
+	}
+
+	@Test
+	public void testBoundFieldTypes() {
+		TypeReflection<Repository.Catalog> cr = new TypeReflection<>(Repository.Catalog.class);
+		IGenericTypeReflection index = cr.findInstanceField("index").getGenericType(Repository.Catalog.class);
+		Assert.assertTrue(index.isResolved());
+		Assert.assertEquals("java.util.Map<java.lang.String, java.util.List<ru.reflexio.Point>>", index.getTypeName());
+		IGenericTypeReflection values = index.getTypeArguments().get(1);
+		Assert.assertEquals(List.class, values.getRawType());
+		Assert.assertEquals(Point.class, values.getTypeArguments().get(0).getRawType());
+
+		IGenericTypeReflection items = cr.findInstanceField("items").getGenericType(Repository.Catalog.class);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Array, items.getKind());
+		Assert.assertEquals(Point[].class, items.getRawType());
+		Assert.assertEquals(Point.class, items.getComponentType().getRawType());
+
+		IGenericTypeReflection views = cr.findInstanceField("views").getGenericType(Repository.Catalog.class);
+		IGenericTypeReflection wildcard = views.getTypeArguments().get(0);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Wildcard, wildcard.getKind());
+		Assert.assertEquals(Point.class, wildcard.getRawType());
+		Assert.assertEquals("java.util.List<? extends ru.reflexio.Point>", views.getTypeName());
+
+		IGenericTypeReflection keys = cr.findInstanceField("keys").getGenericType(Repository.Catalog.class);
+		Assert.assertEquals("java.util.List<? super java.lang.String>", keys.getTypeName());
+		Assert.assertEquals(String.class, keys.getTypeArguments().get(0).getLowerBounds().get(0).getRawType());
+
+		IGenericTypeReflection key = cr.findInstanceField("key").getGenericType(Repository.Catalog.class);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Plain, key.getKind());
+		Assert.assertEquals(String.class, key.getRawType());
+		Assert.assertEquals(String.class, key.toReflection().getType());
+	}
+
+	@Test
+	public void testNestedBinding() {
+		TypeReflection<Repository.Registry> cr = new TypeReflection<>(Repository.Registry.class);
+		IGenericTypeReflection index = cr.findInstanceField("index").getGenericType(Repository.Registry.class);
+		Assert.assertEquals("java.util.Map<java.lang.Long, java.util.List<java.util.List<T>>>", index.getTypeName());
+		Assert.assertFalse(index.isResolved());
+		IGenericTypeReflection variable = index.getTypeArguments().get(1).getTypeArguments().get(0)
+				.getTypeArguments().get(0);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Variable, variable.getKind());
+		Assert.assertEquals(Comparable.class, variable.getRawType());
+		IGenericTypeReflection bound = variable.getUpperBounds().get(0);
+		Assert.assertEquals("java.lang.Comparable<T>", bound.getTypeName());
+	}
+
+	@Test
+	public void testMethodTypes() {
+		TypeReflection<Repository.Catalog> cr = new TypeReflection<>(Repository.Catalog.class);
+		IInstanceMethodReflection find = cr.findInstanceMethod("find");
+		Assert.assertEquals(Object.class, find.getGenericReturnType().getRawType());
+		Assert.assertEquals(Point.class, find.getGenericReturnType(Repository.Catalog.class).getRawType());
+		IParameterReflection param = find.getParameters().get(0);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Variable, param.getGenericType().getKind());
+		Assert.assertEquals(String.class, param.getGenericType(Repository.Catalog.class).getRawType());
+
+		IInstanceMethodReflection store = cr.findInstanceMethod("store");
+		Assert.assertEquals("java.util.List<ru.reflexio.Point>",
+				store.getParameters().get(1).getGenericType(Repository.Catalog.class).getTypeName());
+
+		IInstanceMethodReflection transform = cr.findInstanceMethod("transform");
+		IGenericTypeReflection result = transform.getGenericReturnType(Repository.Catalog.class);
+		Assert.assertEquals(IGenericTypeReflection.Kind.Variable, result.getKind());
+		Assert.assertEquals("R", result.getTypeName());
+	}
+
+	@Test
+	public void testCachedPerOwner() {
+		TypeReflection<Repository.Catalog> cr = new TypeReflection<>(Repository.Catalog.class);
+		IInstanceFieldReflection field = cr.findInstanceField("index");
+		Assert.assertSame(field.getGenericType(Repository.Catalog.class), field.getGenericType(Repository.Catalog.class));
+		Assert.assertSame(field.getGenericType(), field.getGenericType());
+		Assert.assertNotSame(field.getGenericType(), field.getGenericType(Repository.Catalog.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnrelatedOwner() {
+		new TypeReflection<>(Repository.class).findInstanceField("index").getGenericType(Point.class);
+	}
+
+	@Test
+	public void testFindSupertype() {
+		TypeReflection<Repository.Catalog> cr = new TypeReflection<>(Repository.Catalog.class);
+		IGenericTypeReflection names = cr.findInstanceField("names").getGenericType(Repository.Catalog.class);
+		IGenericTypeReflection collection = names.findSupertype(Collection.class);
+		Assert.assertEquals("java.util.Collection<java.lang.String>", collection.getTypeName());
+		Assert.assertNull(names.findSupertype(Map.class));
+		Assert.assertSame(names, names.findSupertype(Repository.Names.class));
+
+		IGenericTypeReflection index = cr.findInstanceField("index").getGenericType(Repository.Catalog.class);
+		IGenericTypeReflection values = index.getTypeArguments().get(1);
+		Assert.assertEquals("java.lang.Iterable<ru.reflexio.Point>", values.findSupertype(Iterable.class).getTypeName());
+	}
+
+	@Test
+	public void testGenericClasses() {
+		TypeReflection<Repository.Catalog> cr = new TypeReflection<>(Repository.Catalog.class);
+		List<ITypeReflection<?>> generics = cr.findInstanceField("index").getGenericClasses();
+		Assert.assertEquals(2, generics.size());
+		Assert.assertEquals(Object.class, generics.get(0).getType());
+		Assert.assertEquals(List.class, generics.get(1).getType());
+	}
+
+}
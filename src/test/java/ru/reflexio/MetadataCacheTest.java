@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetadataCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Path classes() throws URISyntaxException {
+		return Paths.get(Point.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+	}
+
+	private static byte[] bytes(Class<?> type) throws IOException, URISyntaxException {
+		return Files.readAllBytes(classes().resolve(type.getName().replace('.', '/') + ".class"));
+	}
+
+	private static void jar(Path jar, Class<?>... types) throws IOException, URISyntaxException {
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			for (Class<?> type : types) {
+				out.putNextEntry(new ZipEntry(type.getName().replace('.', '/') + ".class"));
+				out.write(bytes(type));
+				out.closeEntry();
+			}
+		}
+	}
+
+	@Test
+	public void testDirectoryCache() throws IOException, URISyntaxException {
+		Path file = folder.getRoot().toPath().resolve("cache/metadata.bin");
+		List<TypeDescriptor> scanned = new ClassScanner(new MetadataCache(file)).scan(classes());
+		Assert.assertTrue(Files.isRegularFile(file));
+		FileTime saved = Files.getLastModifiedTime(file);
+		MetadataCache cache = new MetadataCache(file);
+		Assert.assertFalse(cache.findDirectory(classes()).isEmpty());
+		List<TypeDescriptor> cached = new ClassScanner(cache).scan(classes());
+		Assert.assertFalse(cache.isModified());
+		Assert.assertEquals(saved, Files.getLastModifiedTime(file));
+		Assert.assertEquals(scanned.size(), cached.size());
+		for (int i = 0; i < scanned.size(); i++) {
+			TypeDescriptor expected = scanned.get(i);
+			TypeDescriptor actual = cached.get(i);
+			Assert.assertEquals(expected.getName(), actual.getName());
+			Assert.assertEquals(expected.getSuperclassName(), actual.getSuperclassName());
+			Assert.assertEquals(expected.getInterfaceNames(), actual.getInterfaceNames());
+			Assert.assertEquals(expected.getModifiers(), actual.getModifiers());
+			Assert.assertEquals(expected.getAnnotationNames(), actual.getAnnotationNames());
+			Assert.assertEquals(expected.getMemberAnnotationNames(), actual.getMemberAnnotationNames());
+			Assert.assertEquals(classes(), actual.getSource());
+		}
+	}
+
+	@Test
+	public void testChangedClassFile() throws IOException, URISyntaxException {
+		Path root = folder.newFolder("classes").toPath();
+		Path file = folder.getRoot().toPath().resolve("metadata.bin");
+		Path target = root.resolve("Sample.class");
+		Files.write(target, bytes(Point.class));
+		Assert.assertEquals(Point.class.getName(), new ClassScanner(new MetadataCache(file)).scan(root).get(0).getName());
+		Files.write(target, bytes(Endpoint.class));
+		Files.setLastModifiedTime(target, FileTime.fromMillis(Files.getLastModifiedTime(target).toMillis() + 5000));
+		MetadataCache cache = new MetadataCache(file);
+		Assert.assertEquals(Endpoint.class.getName(), new ClassScanner(cache).scan(root).get(0).getName());
+		Files.delete(target);
+		Assert.assertTrue(new ClassScanner(new MetadataCache(file)).scan(root).isEmpty());
+		Assert.assertTrue(new MetadataCache(file).findDirectory(root).isEmpty());
+	}
+
+	@Test
+	public void testArchiveCache() throws IOException, URISyntaxException {
+		Path jar = folder.getRoot().toPath().resolve("models.jar");
+		Path file = folder.getRoot().toPath().resolve("metadata.bin");
+		jar(jar, Point.class, Shape.class);
+		Assert.assertEquals(1, new ClassScanner(ForkJoinPool.commonPool(), name -> name.endsWith("Shape"),
+				new MetadataCache(file)).scan(jar).size());
+		MetadataCache cache = new MetadataCache(file);
+		Assert.assertEquals(2, cache.findArchive(jar).getDescriptors().size());
+		Assert.assertEquals(2, new ClassScanner(cache).scan(jar).size());
+		Assert.assertFalse(cache.isModified());
+		jar(jar, Counter.class);
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 5000));
+		List<TypeDescriptor> descriptors = new ClassScanner(new MetadataCache(file)).scan(jar);
+		Assert.assertEquals(1, descriptors.size());
+		Assert.assertEquals(Counter.class.getName(), descriptors.get(0).getName());
+	}
+
+	@Test
+	public void testCorruptedCache() throws IOException, URISyntaxException {
+		Path file = folder.newFile("metadata.bin").toPath();
+		Files.write(file, new byte[] { 0x52, 0x46, 0x58, 0x43, 0, 0, 0, 1, 0x7f });
+		MetadataCache cache = new MetadataCache(file);
+		Assert.assertFalse(new ClassScanner(cache).scan(classes()).isEmpty());
+		Assert.assertFalse(new MetadataCache(file).findDirectory(classes()).isEmpty());
+		cache.clear();
+		cache.save();
+		Assert.assertTrue(new MetadataCache(file).findDirectory(classes()).isEmpty());
+	}
+
+	@Test
+	public void testUnwritableCache() throws IOException, URISyntaxException {
+		Path file = folder.newFile("blocked").toPath().resolve("metadata.bin");
+		MetadataCache cache = new MetadataCache(file);
+		Assert.assertFalse(new ClassScanner(cache).scan(classes()).isEmpty());
+		Assert.assertTrue(cache.isModified());
+		Assert.assertFalse(cache.findDirectory(classes()).isEmpty());
+	}
+
+}
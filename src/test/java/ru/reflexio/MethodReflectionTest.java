@@ -28,8 +28,27 @@ package ru.reflexio;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class MethodReflectionTest {
 
+    public static class Faulty {
+
+        public Faulty(boolean strict) throws IOException {
+            if (strict) {
+                throw new IOException("strict");
+            }
+            throw new IllegalStateException("lenient");
+        }
+
+    }
+
     @Test
     public void testInvocation() {
         TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
@@ -57,4 +76,109 @@ public class MethodReflectionTest {
         m.invoke(grandChild, 200);
     }
 
+    @Test
+    public void testHandleInvocation() {
+        TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+        IInstanceMethodReflection m = cr.findInstanceMethod("getCode");
+        Assert.assertEquals(100, m.invoke(new GrandChild(100)));
+    }
+
+    @Test
+    public void testHandleStaticInvocation() {
+        TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+        IStaticMethodReflection m = cr.findStaticMethod("setStatic");
+        Assert.assertNull(m.invoke(40));
+        Assert.assertEquals(40, GrandChild.STATIC);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHandleInvalidInvocation() {
+        TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+        IInstanceMethodReflection m = cr.findInstanceMethod("getCode");
+        m.invoke(new GrandChild(100), 200);
+    }
+
+    @Test
+    public void testExceptionPolicy() {
+        for (InvocationBackend backend : InvocationBackend.values()) {
+            IInstanceMethodReflection m = new TypeReflection<>(Point.class, backend).findInstanceMethod("check");
+            try {
+                m.invoke(new Point(), true);
+                Assert.fail();
+            } catch (RuntimeException e) {
+                Assert.assertSame(RuntimeException.class, e.getClass());
+                Assert.assertTrue(e.getCause() instanceof IOException);
+            }
+            try {
+                m.invoke(new Point(), false);
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("lenient", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testConstructorExceptionPolicy() {
+        for (InvocationBackend backend : InvocationBackend.values()) {
+            IConstructorReflection<Faulty> ctor = new TypeReflection<>(Faulty.class, backend)
+                    .findConstructor(boolean.class);
+            try {
+                ctor.invoke(true);
+                Assert.fail();
+            } catch (RuntimeException e) {
+                Assert.assertSame(RuntimeException.class, e.getClass());
+                Assert.assertTrue(e.getCause() instanceof IOException);
+            }
+            try {
+                ctor.invoke(false);
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("lenient", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentPrivateInvocation() throws Exception {
+        TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+        IInstanceMethodReflection m = cr.findInstanceMethod("describe");
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int x = t;
+                futures.add(executor.submit(() -> {
+                    Point point = new Point(x, 0.5);
+                    point.setName("p");
+                    start.await();
+                    for (int i = 0; i < 20000; i++) {
+                        Assert.assertEquals("p(" + x + ", 0.5)", m.invoke(point));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParameterMetadata() {
+        TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+        IStaticMethodReflection m = cr.findStaticMethod("setStatic");
+        Assert.assertEquals(1, m.getParameterCount());
+        Assert.assertFalse(m.isVarArgs());
+        Assert.assertSame(m.getParameters(), m.getParameters());
+        Assert.assertEquals(int.class, m.getParameters().get(0).getType());
+        Assert.assertTrue(new TypeReflection<>(String.class).getStaticMethods().stream()
+                .anyMatch(IExecutableReflection::isVarArgs));
+    }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodTableTest {
+
+	@Test
+	public void testOverridesCollapsed() {
+		TypeReflection<Animal.Dog> cr = new TypeReflection<>(Animal.Dog.class);
+		List<IInstanceMethodReflection> methods = cr.getVirtualMethods();
+		Set<IInstanceMethodReflection> distinct = Collections.newSetFromMap(new IdentityHashMap<IInstanceMethodReflection, Boolean>());
+		for (IInstanceMethodReflection method : methods) {
+			Assert.assertTrue(distinct.add(method));
+			Assert.assertNotEquals("grow", method.getName());
+		}
+		Assert.assertEquals(Animal.Dog.class, declaringClass(cr.findVirtualMethod("speak")));
+		Assert.assertEquals(Animal.Dog.class, declaringClass(cr.findVirtualMethod("self")));
+		Assert.assertEquals(Animal.Dog.class, cr.findVirtualMethod("self").getType());
+		Assert.assertEquals(Animal.class, declaringClass(cr.findVirtualMethod("getAge")));
+		Assert.assertEquals(Object.class, declaringClass(cr.findVirtualMethod("hashCode")));
+		Assert.assertNull(cr.findVirtualMethod("grow"));
+		Assert.assertNull(cr.findVirtualMethod("speak", String.class));
+		Assert.assertEquals(-1, cr.findVirtualSlot("missing"));
+	}
+
+	@Test
+	public void testBridgesFiltered() {
+		TypeReflection<Animal.Dog> cr = new TypeReflection<>(Animal.Dog.class);
+		for (IInstanceMethodReflection method : cr.getVirtualMethods()) {
+			Assert.assertFalse(((InstanceMethodReflection) method).getElement().isBridge());
+		}
+		IInstanceMethodReflection compare = cr.findVirtualMethod("compareTo", Animal.class);
+		Assert.assertSame(compare, cr.findVirtualMethod("compareTo", Object.class));
+		Assert.assertEquals(Animal.class, declaringClass(compare));
+	}
+
+	@Test
+	public void testInterfaceDefaults() {
+		TypeReflection<Animal.Dog> dog = new TypeReflection<>(Animal.Dog.class);
+		Assert.assertEquals(Named.class, declaringClass(dog.findVirtualMethod("getName")));
+		TypeReflection<Animal.Puppy> puppy = new TypeReflection<>(Animal.Puppy.class);
+		Assert.assertEquals(Animal.Puppy.class, declaringClass(puppy.findVirtualMethod("getName")));
+		TypeReflection<Named.Loud> loud = new TypeReflection<>(Named.Loud.class);
+		Assert.assertEquals(Named.Loud.class, declaringClass(loud.findVirtualMethod("speak")));
+		Assert.assertEquals(Named.class, declaringClass(loud.findVirtualMethod("getKind")));
+		Assert.assertEquals(3, loud.getVirtualMethods().size());
+	}
+
+	@Test
+	public void testStableSlots() {
+		int slot = new TypeReflection<>(Animal.class).findVirtualSlot("speak");
+		Assert.assertTrue(slot >= 0);
+		Assert.assertEquals(slot, new TypeReflection<>(Animal.Dog.class).findVirtualSlot("speak"));
+		Assert.assertEquals(slot, new TypeReflection<>(Animal.Puppy.class).findVirtualSlot("speak"));
+		int hashCode = new TypeReflection<>(Object.class).findVirtualSlot("hashCode");
+		Assert.assertEquals(hashCode, new TypeReflection<>(Animal.Puppy.class).findVirtualSlot("hashCode"));
+	}
+
+	@Test
+	public void testInvokeVirtual() {
+		TypeReflection<Animal> cr = new TypeReflection<>(Animal.class);
+		int slot = cr.findVirtualSlot("speak");
+		Assert.assertEquals("woof", cr.invokeVirtual(slot, new Animal.Dog()));
+		Assert.assertEquals("yip", cr.invokeVirtual(slot, new Animal.Puppy()));
+		TypeReflection<Named> named = new TypeReflection<>(Named.class);
+		int nameSlot = named.findVirtualSlot("getName");
+		Assert.assertEquals("unnamed", named.invokeVirtual(nameSlot, new Animal.Dog()));
+		Assert.assertEquals("puppy", named.invokeVirtual(nameSlot, new Animal.Puppy()));
+		TypeReflection<Animal.Dog> handles = new TypeReflection<>(Animal.Dog.class, InvocationBackend.MethodHandle);
+		Assert.assertEquals("yip", handles.invokeVirtual(handles.findVirtualSlot("speak"), new Animal.Puppy()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSlot() {
+		new TypeReflection<>(Animal.class).getVirtualMethod(-1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeWrongInstance() {
+		TypeReflection<Animal.Dog> cr = new TypeReflection<>(Animal.Dog.class);
+		cr.invokeVirtual(cr.findVirtualSlot("speak"), new Object());
+	}
+
+	private static Class<?> declaringClass(IInstanceMethodReflection method) {
+		return ((InstanceMethodReflection) method).getElement().getDeclaringClass();
+	}
+
+}
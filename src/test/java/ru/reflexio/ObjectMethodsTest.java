@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObjectMethodsTest {
+
+	private static Point point(int x, double y, String name) {
+		Point point = new Point(x, y);
+		point.setName(name);
+		point.setLabel('p');
+		point.setWeight(Float.NaN);
+		return point;
+	}
+
+	@Test
+	public void testEquals() {
+		BiPredicate<Point, Point> equals = ObjectMethods.compileEquals(new TypeReflection<>(Point.class));
+		Point point = point(1, 2.5, "a");
+		Assert.assertTrue(equals.test(point, point));
+		Assert.assertTrue(equals.test(point, point(1, 2.5, "a")));
+		Assert.assertFalse(equals.test(point, point(1, 2.5, "b")));
+		Assert.assertFalse(equals.test(point, point(2, 2.5, "a")));
+		Assert.assertFalse(equals.test(point, point(1, -2.5, "a")));
+		Assert.assertFalse(equals.test(point, null));
+		Assert.assertTrue(equals.test(null, null));
+		Point other = point(1, 2.5, "a");
+		other.setId(5L);
+		Assert.assertFalse(equals.test(point, other));
+	}
+
+	@Test
+	public void testFilteredEquals() {
+		BiPredicate<Point, Point> equals = ObjectMethods.compileEquals(new TypeReflection<>(Point.class),
+				f -> !f.getName().equals("name"));
+		Assert.assertTrue(equals.test(point(1, 2.5, "a"), point(1, 2.5, "b")));
+	}
+
+	@Test
+	public void testArrayEquals() {
+		BiPredicate<Shape, Shape> equals = ObjectMethods.compileEquals(new TypeReflection<>(Shape.class),
+				f -> f.getName().equals("codes") || f.getName().equals("serial"));
+		Shape a = new Shape(1);
+		Shape b = new Shape(1);
+		a.codes = new int[] { 1, 2 };
+		b.codes = new int[] { 1, 2 };
+		Assert.assertTrue(equals.test(a, b));
+		b.codes[1] = 3;
+		Assert.assertFalse(equals.test(a, b));
+		Assert.assertFalse(equals.test(a, new Shape(2)));
+	}
+
+	@Test
+	public void testHashCode() {
+		ToIntFunction<Point> hashCode = ObjectMethods.compileHashCode(new TypeReflection<>(Point.class));
+		Assert.assertEquals(hashCode.applyAsInt(point(1, 2.5, "a")), hashCode.applyAsInt(point(1, 2.5, "a")));
+		Assert.assertNotEquals(hashCode.applyAsInt(point(1, 2.5, "a")), hashCode.applyAsInt(point(1, 2.5, "b")));
+		Assert.assertEquals(0, hashCode.applyAsInt(null));
+		ToIntFunction<Point> partial = ObjectMethods.compileHashCode(new TypeReflection<>(Point.class),
+				f -> f.getName().equals("x") || f.getName().equals("name"));
+		Assert.assertEquals(31 * (31 + 7) + "n".hashCode(), partial.applyAsInt(point(7, 0, "n")));
+	}
+
+	@Test
+	public void testToString() {
+		Function<Point, String> toString = ObjectMethods.compileToString(new TypeReflection<>(Point.class),
+				f -> f.getName().equals("label") || f.getName().equals("x") || f.getName().equals("y")
+						|| f.getName().equals("name") || f.getName().equals("visible"));
+		Assert.assertEquals("Point[visible=false, label=p, x=1, y=2.5, name=a]", toString.apply(point(1, 2.5, "a")));
+		Assert.assertEquals("null", toString.apply(null));
+		Shape shape = new Shape(3);
+		shape.codes = new int[] { 1, 2 };
+		Function<Shape, String> shapeString = ObjectMethods.compileToString(new TypeReflection<>(Shape.class),
+				f -> f.getName().equals("codes") || f.getName().equals("serial"));
+		Assert.assertEquals("Shape[codes=[1, 2], serial=3]", shapeString.apply(shape));
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Order {
+
+	public static class Address {
+
+		private final String zip;
+		private final int building;
+
+		public Address(String zip, int building) {
+			this.zip = zip;
+			this.building = building;
+		}
+
+		public String getZip() {
+			return zip;
+		}
+
+		public int getBuilding() {
+			return building;
+		}
+
+	}
+
+	public static class Customer {
+
+		private final String name;
+		private final List<Address> addresses = new ArrayList<>();
+		private boolean active;
+
+		public Customer(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public List<Address> getAddresses() {
+			return addresses;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+	}
+
+	public static class Box<T> {
+
+		private final T value;
+
+		public Box(T value) {
+			this.value = value;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+	}
+
+	private Customer customer;
+	private Box<Customer> reviewer;
+	private long[] quantities;
+	private Integer priority;
+	private double total;
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public void setCustomer(Customer customer) {
+		this.customer = customer;
+	}
+
+	public Box<Customer> getReviewer() {
+		return reviewer;
+	}
+
+	public void setReviewer(Box<Customer> reviewer) {
+		this.reviewer = reviewer;
+	}
+
+	public long[] getQuantities() {
+		return quantities;
+	}
+
+	public void setQuantities(long[] quantities) {
+		this.quantities = quantities;
+	}
+
+	public Integer getPriority() {
+		return priority;
+	}
+
+	public void setPriority(Integer priority) {
+		this.priority = priority;
+	}
+
+	public double getTotal() {
+		return total;
+	}
+
+	public void setTotal(double total) {
+		this.total = total;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveTest {
+
+	@Test
+	public void testFindByType() {
+		Assert.assertEquals(Primitive.Int, Primitive.findByPrimitiveType(int.class));
+		Assert.assertEquals(Primitive.Char, Primitive.findByBoxedType(Character.class));
+		Assert.assertNull(Primitive.findByPrimitiveType(Integer.class));
+		Assert.assertNull(Primitive.findByBoxedType(int.class));
+		Assert.assertNull(Primitive.findByBoxedType(String.class));
+		Assert.assertNull(Primitive.findByPrimitiveType(null));
+	}
+
+	@Test
+	public void testCanAssign() {
+		Assert.assertTrue(Primitive.canAssign(int.class, Integer.class));
+		Assert.assertTrue(Primitive.canAssign(Integer.class, int.class));
+		Assert.assertFalse(Primitive.canAssign(int.class, int.class));
+		Assert.assertFalse(Primitive.canAssign(short.class, Integer.class));
+		Assert.assertFalse(Primitive.canAssign(String.class, int.class));
+	}
+
+	@Test
+	public void testCanWiden() {
+		Assert.assertTrue(Primitive.canWiden(byte.class, short.class));
+		Assert.assertTrue(Primitive.canWiden(char.class, int.class));
+		Assert.assertTrue(Primitive.canWiden(long.class, float.class));
+		Assert.assertTrue(Primitive.canWiden(int.class, int.class));
+		Assert.assertFalse(Primitive.canWiden(short.class, char.class));
+		Assert.assertFalse(Primitive.canWiden(double.class, float.class));
+		Assert.assertFalse(Primitive.canWiden(boolean.class, int.class));
+		Assert.assertFalse(Primitive.canWiden(Integer.class, long.class));
+	}
+
+	@Test
+	public void testCanConvert() {
+		Assert.assertTrue(Primitive.canConvert(Short.class, int.class));
+		Assert.assertTrue(Primitive.canConvert(int.class, Number.class));
+		Assert.assertTrue(Primitive.canConvert(int.class, long.class));
+		Assert.assertTrue(Primitive.canConvert(String.class, Object.class));
+		Assert.assertFalse(Primitive.canConvert(int.class, Long.class));
+		Assert.assertFalse(Primitive.canConvert(Long.class, int.class));
+		Assert.assertFalse(Primitive.canConvert(Object.class, int.class));
+	}
+
+}
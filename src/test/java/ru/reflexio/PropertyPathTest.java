@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyPathTest {
+
+	private static Order createOrder() {
+		Order.Customer customer = new Order.Customer("alice");
+		customer.getAddresses().add(new Order.Address("10115", 7));
+		customer.setActive(true);
+		Order order = new Order();
+		order.setCustomer(customer);
+		order.setReviewer(new Order.Box<>(new Order.Customer("bob")));
+		order.setQuantities(new long[] { 3, 5 });
+		order.setTotal(12.5);
+		return order;
+	}
+
+	@Test
+	public void testGetValue() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		Order order = createOrder();
+		IPropertyPathReflection zip = cr.compilePropertyPath("customer.addresses[0].zip");
+		Assert.assertEquals("customer.addresses[0].zip", zip.getPath());
+		Assert.assertSame(Order.class, zip.getRootType());
+		Assert.assertSame(String.class, zip.getType());
+		Assert.assertEquals("10115", zip.getValue(order));
+		Assert.assertEquals("alice", cr.compilePropertyPath("customer.name").getValue(order));
+		Assert.assertEquals(5L, cr.compilePropertyPath("quantities[1]").getValue(order));
+		Assert.assertEquals(12.5, cr.compilePropertyPath("total").getValue(order));
+	}
+
+	@Test
+	public void testGenericSegments() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class, InvocationBackend.MethodHandle);
+		IPropertyPathReflection name = cr.compilePropertyPath("reviewer.value.name");
+		Assert.assertSame(String.class, name.getType());
+		Assert.assertEquals("bob", name.getValue(createOrder()));
+		Assert.assertSame(Order.Address.class, cr.compilePropertyPath("customer.addresses[0]").getType());
+	}
+
+	@Test
+	public void testNullShortCircuit() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		IPropertyPathReflection zip = cr.compilePropertyPath("customer.addresses[0].zip");
+		IPropertyPathReflection building = cr.compilePropertyPath("customer.addresses[0].building");
+		Order order = new Order();
+		Assert.assertNull(zip.getValue(order));
+		Assert.assertNull(zip.getValue(null));
+		Assert.assertEquals(-1, building.getIntValue(order, -1));
+		Assert.assertEquals(-1, cr.compilePropertyPath("priority").getIntValue(order, -1));
+		Assert.assertEquals(-1L, cr.compilePropertyPath("quantities[0]").getLongValue(order, -1L));
+		order.setPriority(4);
+		Assert.assertEquals(4, cr.compilePropertyPath("priority").getIntValue(order, -1));
+	}
+
+	@Test
+	public void testPrimitiveValues() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		Order order = createOrder();
+		IPropertyPathReflection building = cr.compilePropertyPath("customer.addresses[0].building");
+		Assert.assertSame(int.class, building.getType());
+		Assert.assertEquals(7, building.getIntValue(order, 0));
+		Assert.assertEquals(7L, building.getLongValue(order, 0));
+		Assert.assertEquals(7.0, building.getDoubleValue(order, 0), 0);
+		Assert.assertEquals(3L, cr.compilePropertyPath("quantities[0]").getLongValue(order, 0));
+		Assert.assertEquals(12.5, cr.compilePropertyPath("total").getDoubleValue(order, 0), 0);
+		Assert.assertTrue(cr.compilePropertyPath("customer.active").getBooleanValue(order, false));
+		try {
+			cr.compilePropertyPath("quantities[0]").getIntValue(order, 0);
+			Assert.fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void testCache() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		IPropertyPathReflection path = cr.compilePropertyPath("customer.name");
+		Assert.assertSame(path, cr.compilePropertyPath("customer.name"));
+		Assert.assertSame(path, new TypeReflection<>(Order.class).compilePropertyPath("customer.name"));
+		Assert.assertNotSame(path, new TypeReflection<>(Order.Box.class).compilePropertyPath("value"));
+	}
+
+	@Test
+	public void testCacheLimit() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		for (int i = 0; i < 300; i++) {
+			cr.compilePropertyPath("customer.addresses[" + i + "]");
+		}
+		Assert.assertSame(cr.compilePropertyPath("customer.addresses[0]"), cr.compilePropertyPath("customer.addresses[0]"));
+		Assert.assertNotSame(cr.compilePropertyPath("customer.addresses[299]"),
+				cr.compilePropertyPath("customer.addresses[299]"));
+		Assert.assertEquals(Order.Address.class, cr.compilePropertyPath("customer.addresses[299]").getType());
+	}
+
+	@Test
+	public void testInvalidPaths() {
+		TypeReflection<Order> cr = new TypeReflection<>(Order.class);
+		String[] paths = { "", "customer.", ".customer", "customer.missing", "customer[0]", "quantities[x]",
+				"quantities[0", "quantities[0]x", "total.value" };
+		for (String path : paths) {
+			try {
+				cr.compilePropertyPath(path);
+				Assert.fail(path);
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+		try {
+			cr.compilePropertyPath("customer.name").getValue("order");
+			Assert.fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testIndexOutOfBounds() {
+		new TypeReflection<>(Order.class).compilePropertyPath("customer.addresses[1]").getValue(createOrder());
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyReflectionTest {
+
+	public static class Tally {
+
+		private int count;
+
+		public long getCount() {
+			return count;
+		}
+
+	}
+
+	@Test
+	public void testProperties() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		List<IPropertyReflection> properties = cr.getProperties();
+		Assert.assertEquals(9, properties.size());
+		Assert.assertEquals("visible", properties.get(0).getName());
+		Assert.assertNull(cr.findProperty("class"));
+		Assert.assertSame(properties, cr.getProperties());
+	}
+
+	@Test
+	public void testBooleanProperty() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		IPropertyReflection property = cr.findProperty("visible");
+		Assert.assertEquals(boolean.class, property.getType());
+		Assert.assertEquals("isVisible", property.getGetter().getName());
+		Assert.assertEquals("setVisible", property.getSetter().getName());
+		Assert.assertEquals("visible", property.getField().getName());
+		Point point = new Point();
+		property.setValue(point, true);
+		Assert.assertEquals(true, property.getValue(point));
+	}
+
+	@Test
+	public void testInheritedAccessors() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		IPropertyReflection message = cr.findProperty("message");
+		Assert.assertTrue(message.isReadable());
+		Assert.assertTrue(message.isWritable());
+		Assert.assertEquals("setMessage", message.getSetter().getName());
+		GrandChild grandChild = new GrandChild("visible");
+		Assert.assertEquals("visible", message.getValue(grandChild));
+	}
+
+	@Test
+	public void testFieldFallback() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		IPropertyReflection map = cr.findProperty("map");
+		Assert.assertNull(map.getGetter());
+		Assert.assertNull(map.getSetter());
+		Assert.assertTrue(map.isWritable());
+		GrandChild grandChild = new GrandChild(1);
+		map.setValue(grandChild, null);
+		Assert.assertNull(map.getValue(grandChild));
+		IPropertyReflection code = cr.findProperty("code");
+		Assert.assertEquals("getCode", code.getGetter().getName());
+		code.setValue(grandChild, 5);
+		Assert.assertEquals(5, grandChild.getCode());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadOnlyProperty() {
+		TypeReflection<Child.Inner> cr = new TypeReflection<>(Child.Inner.class);
+		Assert.assertNull(cr.findProperty("this$0"));
+		TypeReflection<Integer> ir = new TypeReflection<>(Integer.class);
+		IPropertyReflection value = ir.findProperty("value");
+		Assert.assertFalse(value.isWritable());
+		value.setValue(1, 2);
+	}
+
+	@Test
+	public void testCompiledAccessors() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		Function<Point, String> getter = cr.findProperty("name").compileGetter();
+		BiConsumer<Point, String> setter = cr.findProperty("name").compileSetter();
+		Point point = new Point();
+		setter.accept(point, "origin");
+		Assert.assertEquals("origin", getter.apply(point));
+	}
+
+	@Test
+	public void testFieldAccessors() {
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class);
+		IInstanceFieldReflection field = cr.findInstanceField("visible");
+		Assert.assertEquals("isVisible", field.getGetter().getName());
+		Assert.assertEquals("setVisible", field.getSetter().getName());
+		TypeReflection<GrandChild> gr = new TypeReflection<>(GrandChild.class);
+		Assert.assertNull(gr.findInstanceField("code").getSetter());
+	}
+
+	@Test
+	public void testUnpairedFieldAccessors() {
+		TypeReflection<Tally> cr = new TypeReflection<>(Tally.class);
+		Assert.assertNull(cr.findProperty("count").getField());
+		Assert.assertEquals("getCount", cr.findInstanceField("count").getGetter().getName());
+		Assert.assertNull(cr.findInstanceField("count").getSetter());
+	}
+
+}
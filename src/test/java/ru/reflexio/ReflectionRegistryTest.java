@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReflectionRegistryTest {
+
+	public static class Sample {
+
+		private int value;
+
+		public int getValue() {
+			return value;
+		}
+
+	}
+
+	public static class SampleChild extends Sample {
+	}
+
+	public static class Level0 {
+
+		int level0;
+
+	}
+
+	public static class Level1 extends Level0 {
+
+		int level1;
+
+	}
+
+	public static class Level2 extends Level1 {
+
+		int level2;
+
+	}
+
+	public static class Level3 extends Level2 {
+
+		int level3;
+
+	}
+
+	public static class Level4 extends Level3 {
+
+		int level4;
+
+	}
+
+	public static class Level5 extends Level4 {
+
+		int level5;
+
+	}
+
+	public static class Level6 extends Level5 {
+
+		int level6;
+
+	}
+
+	public static class Level7 extends Level6 {
+
+		int level7;
+
+	}
+
+	@Test
+	public void testStatistics() {
+		ReflectionRegistry.invalidate(Sample.class);
+		ReflectionRegistry.Statistics before = ReflectionRegistry.getStatistics();
+		new TypeReflection<>(Sample.class).getInstanceFields();
+		new TypeReflection<>(Sample.class).getInstanceFields();
+		ReflectionRegistry.Statistics after = ReflectionRegistry.getStatistics();
+		Assert.assertEquals(1, after.getMissCount() - before.getMissCount());
+		Assert.assertTrue(after.getHitCount() > before.getHitCount());
+		Assert.assertTrue(after.getSize() > 0);
+		Assert.assertTrue(after.getHitRate() > 0);
+	}
+
+	@Test
+	public void testInvalidateClass() {
+		TypeReflection<SampleChild> child = new TypeReflection<>(SampleChild.class);
+		TypeReflection<Sample> parent = new TypeReflection<>(Sample.class);
+		Assert.assertSame(parent.getInstanceFields(), new TypeReflection<>(Sample.class).getInstanceFields());
+		long invalidations = ReflectionRegistry.getStatistics().getInvalidationCount();
+		ReflectionRegistry.invalidate(Sample.class);
+		Assert.assertTrue(ReflectionRegistry.getStatistics().getInvalidationCount() >= invalidations + 2);
+		Assert.assertNotSame(parent.getInstanceFields(), new TypeReflection<>(Sample.class).getInstanceFields());
+		Assert.assertNotSame(child.getInstanceFields(), new TypeReflection<>(SampleChild.class).getInstanceFields());
+		Assert.assertEquals(1, new TypeReflection<>(SampleChild.class).getInstanceFields().size());
+	}
+
+	@Test
+	public void testEviction() {
+		int maximumSize = ReflectionRegistry.getMaximumSize();
+		Class<?>[] types = { Sample.class, Point.class, Shape.class, Counter.class, GrandChild.class };
+		try {
+			for (Class<?> type : types) {
+				Assert.assertFalse(new TypeReflection<>(type).getInstanceFields().isEmpty());
+			}
+			long evictions = ReflectionRegistry.getStatistics().getEvictionCount();
+			ReflectionRegistry.setMaximumSize(2);
+			Assert.assertTrue(ReflectionRegistry.getStatistics().getSize() <= 2);
+			Assert.assertTrue(ReflectionRegistry.getStatistics().getEvictionCount() > evictions);
+			for (Class<?> type : types) {
+				Assert.assertFalse(new TypeReflection<>(type).getInstanceFields().isEmpty());
+				Assert.assertTrue(ReflectionRegistry.getStatistics().getSize() <= 2);
+			}
+		} finally {
+			ReflectionRegistry.setMaximumSize(maximumSize);
+		}
+	}
+
+	@Test
+	public void testEvictionKeepsSupertypes() {
+		int maximumSize = ReflectionRegistry.getMaximumSize();
+		try {
+			ReflectionRegistry.invalidateAll();
+			TypeMetadata parent = TypeMetadata.of(Sample.class, InvocationBackend.Reflection);
+			Assert.assertEquals(1, TypeMetadata.of(SampleChild.class, InvocationBackend.Reflection).getInstanceFields().size());
+			ReflectionRegistry.setMaximumSize(2);
+			Assert.assertSame(parent, TypeMetadata.of(Sample.class, InvocationBackend.Reflection));
+		} finally {
+			ReflectionRegistry.setMaximumSize(maximumSize);
+		}
+	}
+
+	@Test
+	public void testDeepHierarchyEviction() {
+		int maximumSize = ReflectionRegistry.getMaximumSize();
+		Class<?>[] types = { Level7.class, Level0.class, Level5.class, Level3.class, Level6.class, Level1.class,
+				Level4.class, Level2.class };
+		try {
+			ReflectionRegistry.invalidateAll();
+			ReflectionRegistry.setMaximumSize(4);
+			long evictions = ReflectionRegistry.getStatistics().getEvictionCount();
+			for (int round = 0; round < 20; round++) {
+				for (InvocationBackend backend : InvocationBackend.values()) {
+					for (Class<?> type : types) {
+						int expected = type.getSimpleName().charAt(5) - '0' + 1;
+						Assert.assertEquals(expected, TypeMetadata.of(type, backend).getInstanceFields().size());
+						Assert.assertTrue(ReflectionRegistry.getStatistics().getSize() <= 4);
+					}
+				}
+			}
+			Assert.assertTrue(ReflectionRegistry.getStatistics().getEvictionCount() > evictions + 100);
+		} finally {
+			ReflectionRegistry.setMaximumSize(maximumSize);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaximumSize() {
+		ReflectionRegistry.setMaximumSize(0);
+	}
+
+	@Test
+	public void testInvalidateClassLoader() throws Exception {
+		URL classes = Point.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader loader = new URLClassLoader(new URL[] { classes }, null);
+		Class<?> type = loader.loadClass(Point.class.getName());
+		Assert.assertNotSame(Point.class, type);
+		TypeReflection<?> reflection = new TypeReflection<>(type);
+		Object point = reflection.instantiate(3, 4.0);
+		Assert.assertEquals(3, reflection.findInstanceField("x").getValue(point));
+		long invalidations = ReflectionRegistry.getStatistics().getInvalidationCount();
+		ReflectionRegistry.invalidate(loader);
+		Assert.assertTrue(ReflectionRegistry.getStatistics().getInvalidationCount() > invalidations);
+		WeakReference<ClassLoader> reference = new WeakReference<>(loader);
+		loader.close();
+		loader = null;
+		type = null;
+		reflection = null;
+		point = null;
+		for (int i = 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertNull(reference.get());
+	}
+
+	@Test
+	public void testConstructorCacheDoesNotPinLoader() throws Exception {
+		URL classes = Point.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader loader = new URLClassLoader(new URL[] { classes }, null);
+		Object point = loader.loadClass(Point.class.getName()).getConstructor().newInstance();
+		TypeReflection<Order.Box> box = new TypeReflection<>(Order.Box.class);
+		Assert.assertSame(point, box.instantiate(point).getValue());
+		WeakReference<ClassLoader> reference = new WeakReference<>(loader);
+		loader.close();
+		loader = null;
+		point = null;
+		for (int i = 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertNull(reference.get());
+		Assert.assertEquals("value", box.instantiate("value").getValue());
+	}
+
+}
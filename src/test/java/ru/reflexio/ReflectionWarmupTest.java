@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019, Dmitriy Shchekotin
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+package ru.reflexio;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReflectionWarmupTest {
+
+	public static class Dependent {
+
+		Point point;
+
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPreload() {
+		List<Class<?>> types = Arrays.asList(Point.class, Counter.class, Animal.Puppy.class, Named.Loud.class,
+				Repository.class, String.class, int[].class, int.class);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<ReflectionWarmup.Timing> timings = ReflectionWarmup.preload(types, InvocationBackend.MethodHandle,
+					executor);
+			Assert.assertEquals(types.size(), timings.size());
+			for (int i = 0; i < types.size(); i++) {
+				ReflectionWarmup.Timing timing = timings.get(i);
+				Assert.assertSame(types.get(i), timing.getType());
+				Assert.assertTrue(timing.toString(), timing.isSuccessful());
+				Assert.assertTrue(timing.getTime(TimeUnit.NANOSECONDS) > 0);
+			}
+			Assert.assertTrue(timings.get(0).getMemberCount() > 0);
+		} finally {
+			executor.shutdown();
+		}
+		TypeReflection<Point> cr = new TypeReflection<>(Point.class, InvocationBackend.MethodHandle);
+		Point point = new Point(3, 4.0);
+		Assert.assertEquals(3, cr.findInstanceField("x").getValue(point));
+		Assert.assertEquals(4.0, cr.findProperty("y").getValue(point));
+	}
+
+	@Test
+	public void testDefaultBackend() {
+		List<ReflectionWarmup.Timing> timings = ReflectionWarmup.preload(Arrays.asList(Counter.class, Point.class),
+				ForkJoinPool.commonPool());
+		Assert.assertEquals(2, timings.size());
+		Assert.assertTrue(timings.get(1).isSuccessful());
+		Assert.assertEquals(7, new TypeReflection<>(Counter.class).findInstanceMethod("peek").invoke(new Counter()));
+	}
+
+	@Test
+	public void testMissingDependency() throws Exception {
+		String file = Dependent.class.getName().replace('.', '/') + ".class";
+		Path classes = Paths.get(Dependent.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		Path target = folder.getRoot().toPath().resolve(file);
+		Files.createDirectories(target.getParent());
+		Files.copy(classes.resolve(file), target);
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, null)) {
+			Class<?> broken = loader.loadClass(Dependent.class.getName());
+			List<ReflectionWarmup.Timing> timings = ReflectionWarmup.preload(Arrays.asList(broken, Point.class),
+					Runnable::run);
+			Assert.assertFalse(timings.get(0).isSuccessful());
+			Assert.assertTrue(timings.get(0).getFailure() instanceof LinkageError);
+			Assert.assertTrue(timings.get(1).isSuccessful());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingExecutor() {
+		ReflectionWarmup.preload(Arrays.asList(Point.class), null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingType() {
+		ReflectionWarmup.preload(Arrays.asList(Point.class, null), Runnable::run);
+	}
+
+}
@@ -25,10 +25,14 @@
  */
 package ru.reflexio;
 
+import java.io.Serializable;
 import java.lang.annotation.ElementType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -181,9 +185,25 @@ public class TypeReflectionTest {
 		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
 		short value = 10;
 		GrandChild grandChild = cr.instantiate(value);
+		Assert.assertNotNull(grandChild); // short is widened to int
+		Assert.assertEquals(value, grandChild.getCode());
+	}
+
+	@Test
+	public void testNarrowingInstantiate() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		GrandChild grandChild = cr.instantiate(10L);
 		Assert.assertNull(grandChild);
 	}
 
+	@Test
+	public void testExactOverloadPreferred() {
+		TypeReflection<Long> cr = new TypeReflection<>(long.class);
+		IConstructorReflection<Long> ctor = cr.findConstructor(long.class);
+		Assert.assertEquals(long.class, ctor.getParameters().get(0).getType());
+		Assert.assertTrue(cr.findConstructor(int.class).canInvoke(int.class));
+	}
+
 	@Test
 	public void testFindDefaultConstructor() {
 		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
@@ -300,4 +320,124 @@ public class TypeReflectionTest {
 		Assert.assertEquals("STATIC", fields.get(1).getName());
 	}
 
+	@Test
+	public void testSharedMetadata() {
+		TypeReflection<GrandChild> first = new TypeReflection<>(GrandChild.class);
+		TypeReflection<GrandChild> second = new TypeReflection<>(GrandChild.class);
+		Assert.assertSame(first.getInstanceFields(), second.getInstanceFields());
+		Assert.assertSame(first.getInstanceMethods(), second.getInstanceMethods());
+		Assert.assertSame(first.getConstructors(), second.getConstructors());
+		Assert.assertSame(first.getTypeHierarchy(), second.getTypeHierarchy());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutableMetadata() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		cr.getInstanceFields().clear();
+	}
+
+	@Test
+	public void testHandleInstantiate() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class, InvocationBackend.MethodHandle);
+		Assert.assertEquals(InvocationBackend.MethodHandle, cr.getBackend());
+		GrandChild grandChild = cr.instantiate("Message");
+		Assert.assertEquals("Message", grandChild.getMessage());
+		Assert.assertNotSame(cr.getConstructors(), new TypeReflection<>(GrandChild.class).getConstructors());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testHandleAbstractInstantiate() {
+		TypeReflection<Parent> cr = new TypeReflection<>(Parent.class, InvocationBackend.MethodHandle);
+		cr.instantiate();
+	}
+
+	@Test
+	public void testIndexedLookup() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		Assert.assertSame(cr.findInstanceField("code"), cr.findInstanceField("code"));
+		Assert.assertSame(cr.findInstanceMethod("getCode"), cr.findInstanceMethod("getCode"));
+		Assert.assertNull(cr.findStaticField("code"));
+		Assert.assertNull(cr.findStaticMethod("getCode"));
+		Assert.assertNull(cr.findInstanceMethod(null));
+	}
+
+	@Test
+	public void testCachedConstructorResolution() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		IConstructorReflection<GrandChild> ctor = cr.findConstructor(String.class);
+		Assert.assertNotNull(ctor);
+		Assert.assertSame(ctor, cr.findConstructor(String.class));
+		Assert.assertNull(cr.findConstructor(Long.class));
+		Assert.assertNull(cr.findConstructor(Long.class));
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(i, cr.instantiate(i).getCode());
+			Assert.assertEquals("m" + i, cr.instantiate("m" + i).getMessage());
+			Assert.assertNull(cr.instantiate((String) null).getMessage());
+		}
+	}
+
+	@Test
+	public void testHierarchyStreams() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		Assert.assertEquals(cr.getTypeHierarchy(), cr.streamTypeHierarchy().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getInstanceFields(), cr.streamInstanceFields().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getStaticFields(), cr.streamStaticFields().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getInstanceMethods(), cr.streamInstanceMethods().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getStaticMethods(), cr.streamStaticMethods().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getInstanceMethods(), cr.streamInstanceMethods().parallel().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getInstanceFields(), cr.streamInstanceFields().parallel().collect(Collectors.toList()));
+		Assert.assertSame(cr.getTypeHierarchy().get(3), cr.streamTypeHierarchy().skip(3).findFirst().orElse(null));
+		Assert.assertEquals(2, new TypeReflection<>(int[].class).streamTypeHierarchy().count());
+		Assert.assertEquals(1, new TypeReflection<>(int.class).streamTypeHierarchy().count());
+	}
+
+	@Test
+	public void testHierarchyStreamShortCircuit() {
+		TypeReflection<GrandChild> cr = new TypeReflection<>(GrandChild.class);
+		AtomicInteger visited = new AtomicInteger();
+		IInstanceFieldReflection first = cr.streamInstanceFields()
+				.peek(f -> visited.incrementAndGet())
+				.findFirst()
+				.orElse(null);
+		Assert.assertEquals(cr.getInstanceFields().get(0), first);
+		Assert.assertEquals(1, visited.get());
+	}
+
+	@Test
+	public void testLinearization() {
+		TypeReflection<Animal.Puppy> cr = new TypeReflection<>(Animal.Puppy.class);
+		List<Class<?>> types = new ArrayList<>();
+		for (ITypeReflection<?> type : cr.getLinearization()) {
+			types.add(type.getType());
+		}
+		Assert.assertEquals(Arrays.asList(Animal.Puppy.class, Animal.Dog.class, Animal.class, Comparable.class,
+				Named.Loud.class, Named.class, Object.class), types);
+		Assert.assertEquals(4, cr.getTypeHierarchy().size());
+		Assert.assertEquals(Arrays.asList(Named.Loud.class, Named.class),
+				new TypeReflection<>(Named.Loud.class).getLinearization().stream()
+						.map(ITypeReflection::getType)
+						.collect(Collectors.toList()));
+		Assert.assertEquals(Arrays.asList(int[].class, Cloneable.class, Serializable.class, Object.class),
+				new TypeReflection<>(int[].class).getLinearization().stream()
+						.map(ITypeReflection::getType)
+						.collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testInterfaceMembers() {
+		TypeReflection<Animal.Dog> cr = new TypeReflection<>(Animal.Dog.class);
+		IInstanceMethodReflection getName = cr.findInstanceMethod("getName");
+		Assert.assertNotNull(getName);
+		Assert.assertEquals(Named.UNNAMED, getName.invoke(new Animal.Dog()));
+		Assert.assertEquals("woof", cr.findInstanceMethod("speak").invoke(new Animal.Dog()));
+		Assert.assertEquals("puppy", new TypeReflection<>(Animal.Puppy.class).findInstanceMethod("getName")
+				.invoke(new Animal.Puppy()));
+		Assert.assertEquals(Named.UNNAMED, cr.findStaticField("UNNAMED").getValue());
+		Assert.assertTrue(cr.getStaticFields().stream().anyMatch(f -> "UNNAMED".equals(f.getName())));
+		Assert.assertTrue(cr.getInstanceMethods().stream().anyMatch(m -> "getKind".equals(m.getName())));
+		Assert.assertEquals(cr.getInstanceMethods(), cr.streamInstanceMethods().collect(Collectors.toList()));
+		Assert.assertEquals(cr.getStaticFields(), cr.streamStaticFields().collect(Collectors.toList()));
+		Assert.assertNotNull(cr.findProperty("name"));
+	}
+
 }